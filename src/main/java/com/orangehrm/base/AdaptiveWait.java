@@ -0,0 +1,188 @@
+package com.orangehrm.base;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Wait;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Explicit wait with adaptive polling.
+ * Polls after 25 ms first and backs off geometrically (x1.5) up to 500 ms, so the many conditions that
+ * settle within ~200 ms return almost immediately instead of on the next fixed 500 ms tick.
+ * Like WebDriverWait, NotFoundException thrown by a condition counts as "not yet".
+ *
+ * Waits are immutable and cached per session and timeout (see forSession), and the time each
+ * condition took to be satisfied is recorded for the end-of-run statistics.
+ */
+public class AdaptiveWait implements Wait<WebDriver> {
+
+    private static final long FIRST_POLL_MILLIS = 25;
+    private static final long MAX_POLL_MILLIS = 500;
+    private static final double BACKOFF = 1.5;
+
+    // One set of waits per browser session; entries vanish together with the driver
+    private static final Map<WebDriver, Map<Duration, AdaptiveWait>> SESSIONS =
+        Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<String, ConditionStats> STATS = new ConcurrentSkipListMap<>();
+
+    private final WebDriver driver;
+    private final Duration timeout;
+
+    private AdaptiveWait(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Get the wait with the given timeout for a driver session (created once, then reused)
+     */
+    public static AdaptiveWait forSession(WebDriver driver, Duration timeout) {
+        synchronized (SESSIONS) {
+            return SESSIONS.computeIfAbsent(driver, d -> new HashMap<>())
+                .computeIfAbsent(timeout, t -> new AdaptiveWait(driver, t));
+        }
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Wait until the condition returns a value other than null or false.
+     * Statistics are recorded under the condition's toString (ExpectedConditions describe themselves).
+     */
+    @Override
+    public <V> V until(Function<? super WebDriver, V> condition) {
+        return until(String.valueOf(condition), condition);
+    }
+
+    /**
+     * Wait until the condition returns a value other than null or false
+     *
+     * @param name Name the time-to-satisfy is recorded under (use for lambdas)
+     * @param condition Condition to poll
+     * @throws TimeoutException if the timeout elapses first
+     */
+    public <V> V until(String name, Function<? super WebDriver, V> condition) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long pollMillis = FIRST_POLL_MILLIS;
+        int polls = 0;
+        RuntimeException lastError = null;
+        while (true) {
+            polls++;
+            try {
+                V value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    stats(name).record(true, System.nanoTime() - start, polls);
+                    return value;
+                }
+            } catch (NotFoundException e) {
+                lastError = e;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                stats(name).record(false, System.nanoTime() - start, polls);
+                throw new TimeoutException("Expected condition failed: waiting for " + name
+                    + " (tried for " + timeout.toMillis() + " ms, " + polls + " polls)", lastError);
+            }
+            try {
+                Thread.sleep(Math.min(pollMillis, Math.max(1, remaining / 1_000_000)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TimeoutException("Interrupted while waiting for " + name, e);
+            }
+            pollMillis = Math.min(MAX_POLL_MILLIS, (long) (pollMillis * BACKOFF));
+        }
+    }
+
+    private static ConditionStats stats(String name) {
+        return STATS.computeIfAbsent(name, n -> new ConditionStats());
+    }
+
+    /**
+     * Time-to-satisfy counters of one condition
+     */
+    private static final class ConditionStats {
+        private final LongAdder satisfied = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder satisfiedNanos = new LongAdder();
+        private final LongAdder polls = new LongAdder();
+        private final AtomicLong maxSatisfiedNanos = new AtomicLong();
+
+        void record(boolean ok, long nanos, int pollCount) {
+            polls.add(pollCount);
+            if (ok) {
+                satisfied.increment();
+                satisfiedNanos.add(nanos);
+                maxSatisfiedNanos.accumulateAndGet(nanos, Math::max);
+            } else {
+                timeouts.increment();
+            }
+        }
+
+        long avgMillis() {
+            long n = satisfied.sum();
+            return n == 0 ? 0 : satisfiedNanos.sum() / n / 1_000_000;
+        }
+    }
+
+    /**
+     * Print time-to-satisfy statistics for every condition waited on
+     */
+    public static void printStatistics() {
+        if (STATS.isEmpty()) {
+            return;
+        }
+        System.out.println("\n===== Wait statistics (time to satisfy) =====");
+        for (Map.Entry<String, ConditionStats> entry : STATS.entrySet()) {
+            ConditionStats s = entry.getValue();
+            long waits = s.satisfied.sum() + s.timeouts.sum();
+            System.out.println(entry.getKey() + "  waits=" + waits
+                + " avg=" + s.avgMillis() + "ms max=" + s.maxSatisfiedNanos.get() / 1_000_000 + "ms"
+                + " timeouts=" + s.timeouts.sum()
+                + String.format(Locale.ROOT, " polls/wait=%.1f", (double) s.polls.sum() / Math.max(1, waits)));
+        }
+    }
+
+    /**
+     * Write statistics as CSV (one row per condition)
+     *
+     * @param file Output file, parent directories are created if missing
+     */
+    public static void writeStatistics(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("condition,satisfied,timeouts,avgMillis,maxMillis,polls");
+        for (Map.Entry<String, ConditionStats> entry : STATS.entrySet()) {
+            ConditionStats s = entry.getValue();
+            lines.add(String.join(",",
+                '"' + entry.getKey().replace("\"", "\"\"") + '"',
+                String.valueOf(s.satisfied.sum()),
+                String.valueOf(s.timeouts.sum()),
+                String.valueOf(s.avgMillis()),
+                String.valueOf(s.maxSatisfiedNanos.get() / 1_000_000),
+                String.valueOf(s.polls.sum())));
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+}
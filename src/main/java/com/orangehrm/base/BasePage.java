@@ -1,12 +1,13 @@
 package com.orangehrm.base;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.HasCapabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
+import java.util.List;
 
 /**
  * Base Page class containing common methods used across all page objects.
@@ -14,18 +15,215 @@ import java.time.Duration;
  */
 public class BasePage {
     protected WebDriver driver;
-    protected WebDriverWait wait;
+    protected LearnedWait wait;
+    protected LocatorCache locatorCache;
+    protected TimeoutPolicy timeouts;
+    private final String browserName;
+    // Fallback timeouts until TimeoutController has learned them from observed latencies
     private static final int DEFAULT_TIMEOUT = 5; // Increased to 5s for more stable waits
+    private static final int NETWORK_QUIET_MILLIS = 300; // No XHR/fetch for this long = idle
+    private static final int NETWORK_IDLE_TIMEOUT = 10;
+    private static final int LOADER_TIMEOUT = 10;
+    private static final int OVERLAY_TIMEOUT = 8;
+    private static final int DROPDOWN_TIMEOUT = 5;
+    private static final int CLICK_READY_TIMEOUT = LOADER_TIMEOUT;
+    private static final int SCROLL_SETTLE_TIMEOUT_MILLIS = 1000;
+    private final LearnedWait loaderWait;
+    private final LearnedWait overlayWait;
+    private final LearnedWait dropdownWait;
 
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
+        this.timeouts = TimeoutPolicy.forSession(driver);
+        String page = getClass().getSimpleName();
+        this.wait = timeouts.explicitWait(page + ".default", Duration.ofSeconds(DEFAULT_TIMEOUT));
+        this.loaderWait = timeouts.explicitWait(page + ".loader", Duration.ofSeconds(LOADER_TIMEOUT));
+        this.overlayWait = timeouts.explicitWait(page + ".overlay", Duration.ofSeconds(OVERLAY_TIMEOUT));
+        this.dropdownWait = timeouts.explicitWait(page + ".dropdown", Duration.ofSeconds(DROPDOWN_TIMEOUT));
+        this.locatorCache = LocatorCache.forSession(driver);
+        this.browserName = driver instanceof HasCapabilities session
+            ? session.getCapabilities().getBrowserName() : "unknown";
     }
 
     /**
-     * Wait for element to be clickable and click
+     * Find first candidate locator that exists and is displayed (no explicit wait).
+     * The winning candidate is cached per session and route, so repeat lookups
+     * only re-validate the cached element instead of scanning every candidate.
+     * Wins and probe timings are recorded on the candidate locator.
+     */
+    protected By findFirstVisible(CandidateLocator locator) {
+        By[] candidates = locator.candidates();
+        By cached = locatorCache.lookup(driver, locator);
+        if (cached != null) {
+            locator.recordWin(candidates, List.of(candidates).indexOf(cached));
+            return cached;
+        }
+
+        // Resolve all candidates in one browser round trip
+        CandidateProbe.Result probe = probeCandidates(candidates);
+        if (probe != null) {
+            long[] probeNanos = probe.probeNanos();
+            for (int i = 0; i < probeNanos.length; i++) {
+                locator.recordProbe(candidates, i, probeNanos[i]);
+            }
+            if (probe.found()) {
+                By winner = candidates[probe.index()];
+                locator.recordWin(candidates, probe.index());
+                locatorCache.remember(probe.route(), locator, winner, probe.element());
+                return winner;
+            }
+            locator.recordMiss();
+            return locator.primary();
+        }
+
+        // Probe not possible - scan candidate by candidate, without waiting for missing ones
+        return timeouts.withoutImplicitWait(() -> scanCandidates(locator, candidates));
+    }
+
+    private By scanCandidates(CandidateLocator locator, By[] candidates) {
+        for (int i = 0; i < candidates.length; i++) {
+            long start = System.nanoTime();
+            try {
+                List<WebElement> elems = driver.findElements(candidates[i]);
+                for (WebElement e : elems) {
+                    try {
+                        if (e.isDisplayed()) {
+                            locator.recordProbe(candidates, i, System.nanoTime() - start);
+                            locator.recordWin(candidates, i);
+                            locatorCache.remember(driver, locator, candidates[i], e);
+                            return candidates[i];
+                        }
+                    } catch (Exception ignored) {}
+                }
+            } catch (Exception ignored) {}
+            locator.recordProbe(candidates, i, System.nanoTime() - start);
+        }
+        // fallback - return first candidate so the explicit waits will throw a clear error
+        locator.recordMiss();
+        return locator.primary();
+    }
+
+    /**
+     * Probe every candidate inside the browser with a single executeScript call
+     *
+     * @param candidates Candidate locators in priority order
+     * @return Index and element of the first visible candidate, or null if the probe could not run
+     */
+    protected CandidateProbe.Result probeCandidates(By[] candidates) {
+        try {
+            return CandidateProbe.probe(driver, candidates);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Set several inputs with a single executeScript call (see FormFiller)
+     *
+     * @param candidates Candidate locators of each input
+     * @param values Value for each input; "" clears it
+     * @return Indices of the inputs that were not set, or null if the script could not run
+     */
+    protected List<Integer> fillInputs(List<By[]> candidates, List<String> values) {
+        try {
+            return FormFiller.fill(driver, candidates, values);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Wait for element to be clickable and click.
+     * Loader, overlays, visibility, enabled state, scrolling into view and the hit test are
+     * checked in one browser-side call (see ClickReadiness), then the element is clicked.
      */
     protected void clickElement(By locator) {
+        int attempts = 0;
+        while (attempts < 3) {
+            attempts++;
+            ClickReadiness.Result readiness = awaitClickReady(locator);
+            if (readiness == null) {
+                // Readiness script not possible - wait step by step
+                clickAfterWaits(locator);
+                return;
+            }
+            if (!readiness.clickable()) {
+                // The browser-side wait already used the whole timeout
+                throw new org.openqa.selenium.TimeoutException("Element not clickable (" + readiness.state() + "): " + locator);
+            }
+            try {
+                clickWithFallbacks(locator, readiness.element());
+                return;
+            } catch (org.openqa.selenium.StaleElementReferenceException | org.openqa.selenium.ElementClickInterceptedException e) {
+                if (attempts >= 3) throw e;
+            }
+        }
+    }
+
+    /**
+     * Wait until the element can receive a click
+     *
+     * @return Readiness result, or null if the check could not run in the browser
+     */
+    private ClickReadiness.Result awaitClickReady(By locator) {
+        String key = getClass().getSimpleName() + ".clickReady";
+        Duration timeout = timeouts.explicitTimeout(key, Duration.ofSeconds(CLICK_READY_TIMEOUT));
+        try {
+            long start = System.nanoTime();
+            ClickReadiness.Result result = ClickReadiness.await(driver, locator, timeout);
+            if (result != null) {
+                // Covered targets are a finished wait: the click strategies take over from here
+                timeouts.recordWait(key, Duration.ofNanos(System.nanoTime() - start), !result.settled(), timeout);
+            }
+            return result;
+        } catch (org.openqa.selenium.StaleElementReferenceException e) {
+            return new ClickReadiness.Result("missing", null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Click with the strategy learned for this locator on this browser (see ClickStrategy).
+     * Default order: regular click; if intercepted, an Actions click and then a JS click as last resort.
+     */
+    private void clickWithFallbacks(By locator, WebElement element) {
+        ClickStrategy strategy = ClickStrategy.forLocator(browserName, locator);
+        RuntimeException failure = null;
+        for (ClickStrategy.Kind kind : strategy.order()) {
+            long start = System.nanoTime();
+            try {
+                click(kind, element);
+                strategy.recordSuccess(kind, System.nanoTime() - start);
+                return;
+            } catch (org.openqa.selenium.StaleElementReferenceException e) {
+                throw e; // element replaced - the caller looks it up again
+            } catch (RuntimeException e) {
+                if (kind == ClickStrategy.Kind.NATIVE && !(e instanceof org.openqa.selenium.ElementClickInterceptedException)) {
+                    throw e;
+                }
+                strategy.recordFailure(kind, System.nanoTime() - start);
+                if (failure == null || e instanceof org.openqa.selenium.ElementClickInterceptedException) {
+                    failure = e;
+                }
+            }
+        }
+        throw failure;
+    }
+
+    private void click(ClickStrategy.Kind kind, WebElement element) {
+        switch (kind) {
+            case NATIVE -> element.click();
+            case ACTIONS -> new org.openqa.selenium.interactions.Actions(driver)
+                .moveToElement(element).pause(java.time.Duration.ofMillis(150)).click().perform();
+            case SCRIPT -> ((org.openqa.selenium.JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
+        }
+    }
+
+    /**
+     * Click after separate loader / overlay / clickable waits (used when the readiness script cannot run)
+     */
+    private void clickAfterWaits(By locator) {
         // Wait for any loaders/overlays to disappear before interacting
         waitForLoaderToDisappear();
         waitForOverlaysToDisappear();
@@ -36,34 +234,16 @@ public class BasePage {
             try {
                 WebElement element = wait.until(ExpectedConditions.elementToBeClickable(locator));
 
-                // Scroll into view
+                // Scroll into view (skipped when already visible) and wait for scrolling to settle
                 try {
-                    ((org.openqa.selenium.JavascriptExecutor) driver).executeScript(
-                        "arguments[0].scrollIntoView({block: 'center', inline: 'center'});", element);
-                    Thread.sleep(250);
+                    ScrollSettle.intoView(driver, element, Duration.ofMillis(SCROLL_SETTLE_TIMEOUT_MILLIS));
                 } catch (Exception ignored) {}
 
-                // Try regular click
                 try {
-                    element.click();
+                    clickWithFallbacks(locator, element);
                     return;
                 } catch (org.openqa.selenium.ElementClickInterceptedException intercepted) {
-                    // Try Actions click
-                    try {
-                        org.openqa.selenium.interactions.Actions actions = new org.openqa.selenium.interactions.Actions(driver);
-                        actions.moveToElement(element).pause(java.time.Duration.ofMillis(150)).click().perform();
-                        return;
-                    } catch (Exception e) {
-                        // Try JS click as last resort
-                        try {
-                            ((org.openqa.selenium.JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
-                            return;
-                        } catch (Exception jsEx) {
-                            if (attempts >= 3) {
-                                throw intercepted;
-                            }
-                        }
-                    }
+                    if (attempts >= 3) throw intercepted;
                 }
             } catch (org.openqa.selenium.StaleElementReferenceException | org.openqa.selenium.NoSuchElementException e) {
                 if (attempts >= 3) throw e;
@@ -81,9 +261,8 @@ public class BasePage {
      */
     private void waitForLoaderToDisappear() {
         try {
-            By loader = By.cssSelector("div.oxd-form-loader");
-            WebDriverWait longWait = new WebDriverWait(driver, java.time.Duration.ofSeconds(10));
-            longWait.until(ExpectedConditions.invisibilityOfElementLocated(loader));
+            By loader = By.cssSelector(ClickReadiness.LOADERS);
+            timeouts.withoutImplicitWait(() -> loaderWait.until(ExpectedConditions.invisibilityOfElementLocated(loader)));
         } catch (Exception ignored) {
             // ignore timeout or absence of loader
         }
@@ -94,14 +273,67 @@ public class BasePage {
      */
     private void waitForOverlaysToDisappear() {
         try {
-            By overlays = By.cssSelector(".oxd-overlay, .oxd-loading, .modal-backdrop, div[role='presentation']");
-            WebDriverWait longWait = new WebDriverWait(driver, java.time.Duration.ofSeconds(8));
-            longWait.until(ExpectedConditions.invisibilityOfElementLocated(overlays));
+            By overlays = By.cssSelector(ClickReadiness.OVERLAYS);
+            timeouts.withoutImplicitWait(() -> overlayWait.until(ExpectedConditions.invisibilityOfElementLocated(overlays)));
         } catch (Exception ignored) {
             // ignore if overlays not present
         }
     }
 
+    /**
+     * Wait until OrangeHRM has no pending XHR/fetch requests for a short quiet window.
+     * Replaces fixed sleeps after saves and reloads: returns as soon as the API calls settle.
+     *
+     * @return true if the network went idle, false if the timeout elapsed first
+     */
+    public boolean waitForNetworkIdle() {
+        return waitForNetworkIdle(Duration.ofMillis(NETWORK_QUIET_MILLIS), Duration.ofSeconds(NETWORK_IDLE_TIMEOUT));
+    }
+
+    /**
+     * Wait until no XHR/fetch request has been pending for the given quiet window
+     *
+     * @param quiet Quiet window with zero pending requests
+     * @param timeout Maximum time to wait
+     * @return true if the network went idle, false if the timeout elapsed first
+     */
+    public boolean waitForNetworkIdle(Duration quiet, Duration timeout) {
+        try {
+            return NetworkMonitor.waitForIdle(driver, quiet, timeout);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Start recording toasts and validation messages from now on.
+     * Page objects call this right before submitting a form.
+     */
+    protected void startUiEventCapture() {
+        try {
+            UiEventObserver.beginCapture(driver);
+        } catch (Exception ignored) {
+            // observer is an optimization - awaitUiEvent installs it lazily too
+        }
+    }
+
+    /**
+     * Wait for a toast / validation message recorded by the MutationObserver.
+     * Returns false as soon as the network has settled without a matching message.
+     *
+     * @param kind Event kind prefix ("toast-success", "toast-error", "toast", "validation")
+     * @param text Text fragment the message must contain, or null for any
+     * @return true if a matching message appeared since the last capture
+     */
+    protected boolean awaitUiEvent(String kind, String text) {
+        try {
+            return UiEventObserver.awaitEvent(driver, kind, text,
+                Duration.ofSeconds(DEFAULT_TIMEOUT), Duration.ofMillis(NETWORK_QUIET_MILLIS));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     /**
      * Wait for element to be visible and send keys
      */
@@ -156,17 +388,16 @@ public class BasePage {
      * @param optionText Text của option cần chọn (ví dụ: "Vietnamese", "Single")
      */
     protected void selectOrangeHRMDropdown(By dropdownLocator, String optionText) {
-        // Use longer wait for dropdowns - 5 seconds
-        WebDriverWait longWait = new WebDriverWait(driver, Duration.ofSeconds(5));
+        // Dropdowns use their own (longer) learned wait
         
         // Click vào dropdown để mở
-        WebElement dropdown = longWait.until(ExpectedConditions.elementToBeClickable(dropdownLocator));
+        WebElement dropdown = dropdownWait.until(ExpectedConditions.elementToBeClickable(dropdownLocator));
         dropdown.click();
         
         // Chờ dropdown options xuất hiện và chọn option theo text
         // OrangeHRM dropdown options có class "oxd-select-option"
         By optionLocator = By.xpath("//div[contains(@class,'oxd-select-option') and contains(text(),'" + optionText + "')]");
-        WebElement option = longWait.until(ExpectedConditions.elementToBeClickable(optionLocator));
+        WebElement option = dropdownWait.until(ExpectedConditions.elementToBeClickable(optionLocator));
         option.click();
     }
 
@@ -0,0 +1,228 @@
+package com.orangehrm.base;
+
+import org.openqa.selenium.By;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A named list of candidate locators for one logical element.
+ * Owns the probe ordering, records how often each candidate wins and how long each
+ * probe takes, and moves a candidate that keeps winning ahead of the ones declared before it
+ * (at least 5 wins and twice as many as the candidate it overtakes) so it is tried first.
+ *
+ * Instances are registered by name so page objects created per test class share statistics.
+ */
+public class CandidateLocator {
+
+    private static final Map<String, CandidateLocator> REGISTRY = new ConcurrentSkipListMap<>();
+
+    // A candidate is tried before another only after this many wins, and this many times as many wins as it
+    private static final long MIN_WINS_TO_PROMOTE = 5;
+    private static final long PROMOTION_MARGIN = 2;
+
+    private final String name;
+    private final By[] candidates;
+    private final LongAdder[] wins;
+    private final LongAdder[] probes;
+    private final LongAdder[] probeNanos;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    // Current probe order as indices into candidates (declared order, clear winners moved ahead)
+    private volatile int[] order;
+    private volatile By[] ordered;
+
+    private CandidateLocator(String name, By[] candidates) {
+        if (candidates.length == 0) {
+            throw new IllegalArgumentException("CandidateLocator " + name + " needs at least one candidate");
+        }
+        this.name = name;
+        this.candidates = candidates.clone();
+        this.wins = newCounters(candidates.length);
+        this.probes = newCounters(candidates.length);
+        this.probeNanos = newCounters(candidates.length);
+        this.order = new int[candidates.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        this.ordered = this.candidates.clone();
+    }
+
+    /**
+     * Get or create the candidate locator registered under the given name
+     *
+     * @param name Unique name, e.g. "MyInfoPage.SAVE_BUTTON"
+     * @param candidates Candidate locators in their initial priority order
+     */
+    public static CandidateLocator of(String name, By... candidates) {
+        return REGISTRY.computeIfAbsent(name, n -> new CandidateLocator(n, candidates));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Candidates in the current (adaptive) probe order
+     */
+    public By[] candidates() {
+        return ordered;
+    }
+
+    /**
+     * Highest-priority candidate in the original declaration order
+     */
+    public By primary() {
+        return candidates[0];
+    }
+
+    /**
+     * Record that the candidate at the given position of {@link #candidates()} won a lookup
+     */
+    public void recordWin(By[] probedOrder, int position) {
+        lookups.increment();
+        int index = indexOf(probedOrder[position]);
+        wins[index].increment();
+        maybeReorder(index);
+    }
+
+    /**
+     * Record that no candidate matched a visible element
+     */
+    public void recordMiss() {
+        lookups.increment();
+        misses.increment();
+    }
+
+    /**
+     * Record the cost of probing the candidate at the given position of {@link #candidates()}
+     */
+    public void recordProbe(By[] probedOrder, int position, long nanos) {
+        int index = indexOf(probedOrder[position]);
+        probes[index].increment();
+        probeNanos[index].add(nanos);
+    }
+
+    private int indexOf(By locator) {
+        for (int i = 0; i < candidates.length; i++) {
+            if (candidates[i].equals(locator)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(locator + " is not a candidate of " + name);
+    }
+
+    private void maybeReorder(int winner) {
+        int[] current = order;
+        int position = 0;
+        while (current[position] != winner) {
+            position++;
+        }
+        // Only re-sort when the winner now clearly beats the candidate tried before it
+        if (position == 0 || !beats(winner, current[position - 1])) {
+            return;
+        }
+        synchronized (this) {
+            // Insertion sort from the declared priority: a candidate only moves ahead of another
+            // once it clearly beats it, so one lucky win of a generic fallback on a half-rendered
+            // page never puts it in front of the specific locators for the rest of the run
+            int[] newOrder = new int[candidates.length];
+            for (int i = 0; i < newOrder.length; i++) {
+                int slot = i;
+                while (slot > 0 && beats(i, newOrder[slot - 1])) {
+                    newOrder[slot] = newOrder[slot - 1];
+                    slot--;
+                }
+                newOrder[slot] = i;
+            }
+            By[] newOrdered = new By[newOrder.length];
+            for (int i = 0; i < newOrder.length; i++) {
+                newOrdered[i] = candidates[newOrder[i]];
+            }
+            order = newOrder;
+            ordered = newOrdered;
+        }
+    }
+
+    /**
+     * Whether a candidate has won often enough, and clearly more often than the other one,
+     * to be tried before it
+     */
+    private boolean beats(int candidate, int other) {
+        long candidateWins = wins[candidate].sum();
+        return candidateWins >= MIN_WINS_TO_PROMOTE && candidateWins >= PROMOTION_MARGIN * wins[other].sum();
+    }
+
+    /**
+     * Print hit-rate statistics for every registered candidate locator
+     */
+    public static void printStatistics() {
+        if (REGISTRY.isEmpty()) {
+            return;
+        }
+        System.out.println("\n===== Candidate locator statistics =====");
+        for (CandidateLocator locator : REGISTRY.values()) {
+            long total = locator.lookups.sum();
+            System.out.println(locator.name + " (lookups=" + total + ", misses=" + locator.misses.sum() + ")");
+            for (int i = 0; i < locator.candidates.length; i++) {
+                long w = locator.wins[i].sum();
+                long p = locator.probes[i].sum();
+                String avg = p == 0 ? "-" : String.format(Locale.ROOT, "%.2fms", locator.probeNanos[i].sum() / 1e6 / p);
+                String rate = total == 0 ? "0%" : String.format(Locale.ROOT, "%.0f%%", 100.0 * w / total);
+                System.out.println("  #" + i + " " + locator.candidates[i]
+                    + "  wins=" + w + " (" + rate + ") probes=" + p + " avg=" + avg
+                    + (w == 0 && total > 0 ? "  [never won]" : ""));
+            }
+        }
+    }
+
+    /**
+     * Write statistics as CSV (one row per candidate) so dead candidates can be pruned
+     *
+     * @param file Output file, parent directories are created if missing
+     */
+    public static void writeStatistics(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("locator,index,candidate,lookups,wins,probes,avgProbeMicros");
+        for (CandidateLocator locator : REGISTRY.values()) {
+            for (int i = 0; i < locator.candidates.length; i++) {
+                long p = locator.probes[i].sum();
+                long avgMicros = p == 0 ? 0 : locator.probeNanos[i].sum() / p / 1000;
+                lines.add(String.join(",",
+                    locator.name,
+                    String.valueOf(i),
+                    '"' + locator.candidates[i].toString().replace("\"", "\"\"") + '"',
+                    String.valueOf(locator.lookups.sum()),
+                    String.valueOf(locator.wins[i].sum()),
+                    String.valueOf(p),
+                    String.valueOf(avgMicros)));
+            }
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    private static LongAdder[] newCounters(int size) {
+        LongAdder[] counters = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+
+    @Override
+    public String toString() {
+        return "CandidateLocator{" + name + ", " + Arrays.toString(ordered) + '}';
+    }
+}
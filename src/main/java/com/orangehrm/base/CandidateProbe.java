@@ -0,0 +1,131 @@
+package com.orangehrm.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves a whole list of candidate locators inside the browser in one executeScript call.
+ * Every CSS / XPath / link-text candidate is evaluated in order and the first one that matches
+ * a visible element wins, so N candidates cost one round trip instead of N (or 2N with isDisplayed).
+ */
+public class CandidateProbe {
+
+    // visible(element), find(using, value) -> matching elements in document order
+    static final String FIND_FUNCTIONS =
+        "function visible(e) {" +
+        "  if (!e || e.nodeType !== 1 || !e.isConnected) return false;" +
+        "  var s = window.getComputedStyle(e);" +
+        "  if (s.visibility === 'hidden' || s.display === 'none') return false;" +
+        "  return !!(e.offsetWidth || e.offsetHeight || e.getClientRects().length);" +
+        "}" +
+        "function linkText(a) { return (a.innerText || a.textContent || '').trim(); }" +
+        "function find(using, value) {" +
+        "  switch (using) {" +
+        "    case 'id': return Array.prototype.slice.call(document.querySelectorAll('#' + CSS.escape(value)));" +
+        "    case 'name': return Array.prototype.slice.call(document.getElementsByName(value));" +
+        "    case 'class name': return Array.prototype.slice.call(document.getElementsByClassName(value));" +
+        "    case 'css selector': return Array.prototype.slice.call(document.querySelectorAll(value));" +
+        "    case 'xpath':" +
+        "      var r = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+        "      var out = [];" +
+        "      for (var k = 0; k < r.snapshotLength; k++) out.push(r.snapshotItem(k));" +
+        "      return out;" +
+        "    case 'link text':" +
+        "      return Array.prototype.filter.call(document.querySelectorAll('a'), function(a) { return linkText(a) === value; });" +
+        "    case 'partial link text':" +
+        "      return Array.prototype.filter.call(document.querySelectorAll('a'), function(a) { return linkText(a).indexOf(value) >= 0; });" +
+        "    case 'tag name': return Array.prototype.slice.call(document.getElementsByTagName(value));" +
+        "  }" +
+        "  return [];" +
+        "}";
+
+    // arguments[0] = [[using, value], ...]
+    // returns [winnerIndex, element, location.pathname, [millis spent on each probed candidate]]
+    private static final String PROBE_SCRIPT = FIND_FUNCTIONS +
+        "var specs = arguments[0];" +
+        "var times = [];" +
+        "for (var i = 0; i < specs.length; i++) {" +
+        "  var start = performance.now();" +
+        "  try {" +
+        "    var found = find(specs[i][0], specs[i][1]);" +
+        "    for (var j = 0; j < found.length; j++) {" +
+        "      if (visible(found[j])) { times.push(performance.now() - start); return [i, found[j], location.pathname, times]; }" +
+        "    }" +
+        "  } catch (err) { /* invalid selector for this document - try next candidate */ }" +
+        "  times.push(performance.now() - start);" +
+        "}" +
+        "return [-1, null, location.pathname, times];";
+
+    /**
+     * Result of a batch probe
+     *
+     * @param index Index of the winning candidate, or -1 if none is visible
+     * @param element Visible element matched by the winner (null when index is -1)
+     * @param route location.pathname at probe time
+     * @param probeNanos Browser-side time spent on each candidate that was evaluated
+     */
+    public record Result(int index, WebElement element, String route, long[] probeNanos) {
+        public boolean found() {
+            return index >= 0;
+        }
+    }
+
+    private CandidateProbe() {
+    }
+
+    /**
+     * Probe all candidates in a single script call.
+     *
+     * @param driver Driver to run the probe on
+     * @param candidates Candidate locators in priority order
+     * @return Probe result, or null if a candidate cannot be expressed in the browser
+     *         (caller should fall back to per-candidate findElements)
+     */
+    public static Result probe(WebDriver driver, By[] candidates) {
+        List<List<String>> specs = toSpecs(candidates);
+        if (specs == null) {
+            return null;
+        }
+        Object raw = ((JavascriptExecutor) driver).executeScript(PROBE_SCRIPT, specs);
+        if (!(raw instanceof List<?> list) || list.size() != 4) {
+            return null;
+        }
+        int index = ((Number) list.get(0)).intValue();
+        WebElement element = list.get(1) instanceof WebElement e ? e : null;
+        List<?> times = list.get(3) instanceof List<?> t ? t : List.of();
+        long[] probeNanos = new long[times.size()];
+        for (int i = 0; i < probeNanos.length; i++) {
+            probeNanos[i] = (long) (((Number) times.get(i)).doubleValue() * 1_000_000);
+        }
+        return new Result(index, element, String.valueOf(list.get(2)), probeNanos);
+    }
+
+    /**
+     * Convert locators to [using, value] pairs understood by the probe script
+     */
+    static List<List<String>> toSpecs(By[] candidates) {
+        List<List<String>> specs = new ArrayList<>(candidates.length);
+        for (By by : candidates) {
+            if (!(by instanceof By.Remotable remotable)) {
+                return null;
+            }
+            By.Remotable.Parameters params = remotable.getRemoteParameters();
+            if (!(params.value() instanceof String value)) {
+                return null;
+            }
+            switch (params.using()) {
+                case "id", "name", "class name", "css selector", "xpath",
+                     "link text", "partial link text", "tag name" ->
+                    specs.add(List.of(params.using(), value));
+                default -> {
+                    return null;
+                }
+            }
+        }
+        return specs;
+    }
+}
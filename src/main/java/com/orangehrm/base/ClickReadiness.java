@@ -0,0 +1,122 @@
+package com.orangehrm.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Composite "ready to click" condition evaluated inside the browser in one executeAsyncScript call.
+ * Polls in the page until no OrangeHRM form loader or overlay is shown, the target is visible and
+ * enabled, it is in the viewport (scrolled there with ScrollSettle if needed) and elementFromPoint
+ * at its center is the target itself or one of its children.
+ * A target that is ready except for something else covering its center (e.g. the label drawn over a
+ * custom radio button) is returned as 'obscured' at once - the fallback click strategies handle it.
+ *
+ * Replaces the loader wait, the overlay wait, elementToBeClickable, the scrollIntoView call and the
+ * fixed 250 ms sleep that used to precede every click.
+ */
+public class ClickReadiness {
+
+    // Blocks a click unless the target is inside it
+    static final String LOADERS = "div.oxd-form-loader";
+    static final String OVERLAYS = ".oxd-overlay, .oxd-loading, .modal-backdrop, div[role='presentation']";
+
+    // arguments: [using, value], timeoutMillis, callback -> [state, element]
+    // state is 'ready', 'obscured' (final, see above) or the last reason the target was not ready:
+    // missing, hidden, disabled, loader, overlay, scroll, offscreen
+    private static final String READY_SCRIPT = CandidateProbe.FIND_FUNCTIONS + ScrollSettle.SETTLE_FUNCTIONS +
+        "var spec = arguments[0], timeout = arguments[1], done = arguments[arguments.length - 1];" +
+        "var deadline = Date.now() + timeout, target = null, scrolls = 0;" +
+        "function blocked(selector) {" +
+        "  var list = document.querySelectorAll(selector);" +
+        "  for (var i = 0; i < list.length; i++) {" +
+        "    if (visible(list[i]) && !list[i].contains(target)) return true;" +
+        "  }" +
+        "  return false;" +
+        "}" +
+        "function check() {" +
+        "  var found = find(spec[0], spec[1]);" +
+        "  target = null;" +
+        "  for (var i = 0; i < found.length && !target; i++) if (visible(found[i])) target = found[i];" +
+        "  if (!target) return found.length ? 'hidden' : 'missing';" +
+        "  if (target.disabled) return 'disabled';" +
+        "  if (blocked(" + js(LOADERS) + ")) return 'loader';" +
+        "  if (blocked(" + js(OVERLAYS) + ")) return 'overlay';" +
+        "  if (!inView(target) && scrolls < 2) return 'scroll';" +
+        "  var r = target.getBoundingClientRect();" +
+        "  var x = r.left + r.width / 2, y = r.top + r.height / 2;" +
+        "  if (x < 0 || y < 0 || x >= window.innerWidth || y >= window.innerHeight) return 'offscreen';" +
+        "  var hit = document.elementFromPoint(x, y);" +
+        "  if (!hit || (hit !== target && !target.contains(hit))) return 'obscured';" +
+        "  return 'ready';" +
+        "}" +
+        "function tick() {" +
+        "  var state;" +
+        "  try { state = check(); } catch (e) { state = 'missing'; }" +
+        "  if (state === 'ready' || state === 'obscured' || Date.now() >= deadline) { done([state, target]); return; }" +
+        "  if (state === 'scroll') { scrolls++; settleScroll(target, deadline - Date.now(), tick); return; }" +
+        "  setTimeout(tick, 50);" +
+        "}" +
+        "tick();";
+
+    /**
+     * Outcome of a readiness check
+     *
+     * @param state "ready", "obscured", or the reason the target was still not clickable at the timeout
+     * @param element Visible element matched by the locator (null if there was none)
+     */
+    public record Result(String state, WebElement element) {
+        public boolean ready() {
+            return "ready".equals(state);
+        }
+
+        /**
+         * Whether the wait ended because the target was ready or only covered - i.e. not at the timeout
+         */
+        public boolean settled() {
+            return ready() || "obscured".equals(state);
+        }
+
+        /**
+         * Whether there is an element worth trying to click (it may still be covered)
+         */
+        public boolean clickable() {
+            return element != null && !"disabled".equals(state) && !"hidden".equals(state);
+        }
+    }
+
+    private ClickReadiness() {
+    }
+
+    /**
+     * Wait inside the browser until the element is ready to receive a click.
+     *
+     * @param driver Driver to wait on
+     * @param locator Element to click
+     * @param timeout Upper bound for the whole wait (keep below the session script timeout, W3C default 30s)
+     * @return Readiness result, or null if the locator cannot be expressed in the browser
+     */
+    public static Result await(WebDriver driver, By locator, Duration timeout) {
+        List<List<String>> specs = CandidateProbe.toSpecs(new By[] {locator});
+        if (specs == null) {
+            return null;
+        }
+        try {
+            Object raw = ((JavascriptExecutor) driver).executeAsyncScript(READY_SCRIPT, specs.get(0), timeout.toMillis());
+            if (!(raw instanceof List<?> list) || list.size() != 2) {
+                return null;
+            }
+            return new Result(String.valueOf(list.get(0)), list.get(1) instanceof WebElement e ? e : null);
+        } catch (ScriptTimeoutException e) {
+            return new Result("timeout", null);
+        }
+    }
+
+    private static String js(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+}
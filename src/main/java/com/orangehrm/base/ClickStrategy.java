@@ -0,0 +1,181 @@
+package com.orangehrm.base;
+
+import org.openqa.selenium.By;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Learned click strategy for one locator on one browser.
+ * Remembers which way of clicking (native, Actions, JS) last succeeded and tries it first next time,
+ * so a locator that is always intercepted (e.g. the gender radio labels) no longer pays a failed native
+ * click and an exception round trip on every call. The native click is re-tried first every
+ * NATIVE_RETRY_INTERVAL clicks, so a locator goes back to it once the interception is gone.
+ *
+ * Instances are registered by browser and locator, so all page objects and threads share what was learned.
+ */
+public class ClickStrategy {
+
+    /**
+     * Ways of clicking an element, in default order
+     */
+    public enum Kind {
+        NATIVE, ACTIONS, SCRIPT
+    }
+
+    private static final int NATIVE_RETRY_INTERVAL = 25;
+    private static final Map<String, ClickStrategy> REGISTRY = new ConcurrentSkipListMap<>();
+
+    private final String browser;
+    private final String locator;
+    private final LongAdder clicks = new LongAdder();
+    private final LongAdder[] successes = newCounters();
+    private final LongAdder[] failures = newCounters();
+    private final LongAdder[] nanos = newCounters();
+
+    // Strategy that succeeded last (NATIVE until something else was needed)
+    private volatile Kind preferred = Kind.NATIVE;
+
+    private ClickStrategy(String browser, String locator) {
+        this.browser = browser;
+        this.locator = locator;
+    }
+
+    /**
+     * Get or create the strategy registered for a locator on a browser
+     *
+     * @param browser Browser name, e.g. "firefox"
+     * @param locator Locator being clicked
+     */
+    public static ClickStrategy forLocator(String browser, By locator) {
+        String key = browser + " " + locator;
+        return REGISTRY.computeIfAbsent(key, k -> new ClickStrategy(browser, String.valueOf(locator)));
+    }
+
+    /**
+     * Strategies to try for the next click: the learned one first, then the others in default order
+     */
+    public Kind[] order() {
+        clicks.increment();
+        Kind first = preferred;
+        if (first != Kind.NATIVE && clicks.sum() % NATIVE_RETRY_INTERVAL == 0) {
+            first = Kind.NATIVE; // probe whether the native click works again
+        }
+        Kind[] order = new Kind[Kind.values().length];
+        order[0] = first;
+        int i = 1;
+        for (Kind kind : Kind.values()) {
+            if (kind != first) {
+                order[i++] = kind;
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Record that a strategy clicked the element; it is tried first from now on
+     */
+    public void recordSuccess(Kind kind, long elapsedNanos) {
+        successes[kind.ordinal()].increment();
+        nanos[kind.ordinal()].add(elapsedNanos);
+        preferred = kind;
+    }
+
+    /**
+     * Record that a strategy failed (e.g. the click was intercepted)
+     */
+    public void recordFailure(Kind kind, long elapsedNanos) {
+        failures[kind.ordinal()].increment();
+        nanos[kind.ordinal()].add(elapsedNanos);
+    }
+
+    public Kind getPreferred() {
+        return preferred;
+    }
+
+    public long getSuccesses(Kind kind) {
+        return successes[kind.ordinal()].sum();
+    }
+
+    public long getFailures(Kind kind) {
+        return failures[kind.ordinal()].sum();
+    }
+
+    /**
+     * All registered strategies, ordered by browser and locator
+     */
+    public static List<ClickStrategy> all() {
+        return List.copyOf(REGISTRY.values());
+    }
+
+    /**
+     * Print learned strategies and per-strategy success / failure counts
+     */
+    public static void printStatistics() {
+        if (REGISTRY.isEmpty()) {
+            return;
+        }
+        System.out.println("\n===== Click strategy statistics =====");
+        for (ClickStrategy strategy : REGISTRY.values()) {
+            System.out.println(strategy.browser + " " + strategy.locator
+                + " (clicks=" + strategy.clicks.sum() + ", preferred=" + strategy.preferred + ")");
+            for (Kind kind : Kind.values()) {
+                long attempts = strategy.getSuccesses(kind) + strategy.getFailures(kind);
+                if (attempts == 0) {
+                    continue;
+                }
+                String avg = String.format(Locale.ROOT, "%.1fms", strategy.nanos[kind.ordinal()].sum() / 1e6 / attempts);
+                System.out.println("  " + kind + "  ok=" + strategy.getSuccesses(kind)
+                    + " failed=" + strategy.getFailures(kind) + " avg=" + avg);
+            }
+        }
+    }
+
+    /**
+     * Write statistics as CSV (one row per browser, locator and strategy)
+     *
+     * @param file Output file, parent directories are created if missing
+     */
+    public static void writeStatistics(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("browser,locator,strategy,preferred,successes,failures,avgMicros");
+        for (ClickStrategy strategy : REGISTRY.values()) {
+            for (Kind kind : Kind.values()) {
+                long attempts = strategy.getSuccesses(kind) + strategy.getFailures(kind);
+                long avgMicros = attempts == 0 ? 0 : strategy.nanos[kind.ordinal()].sum() / attempts / 1000;
+                lines.add(String.join(",",
+                    strategy.browser,
+                    '"' + strategy.locator.replace("\"", "\"\"") + '"',
+                    kind.name(),
+                    String.valueOf(kind == strategy.preferred),
+                    String.valueOf(strategy.getSuccesses(kind)),
+                    String.valueOf(strategy.getFailures(kind)),
+                    String.valueOf(avgMicros)));
+            }
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    private static LongAdder[] newCounters() {
+        LongAdder[] counters = new LongAdder[Kind.values().length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+
+    @Override
+    public String toString() {
+        return "ClickStrategy{" + browser + ", " + locator + ", preferred=" + preferred + '}';
+    }
+}
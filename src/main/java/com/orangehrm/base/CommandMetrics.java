@@ -0,0 +1,363 @@
+package com.orangehrm.base;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.WebDriverListener;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency of every WebDriver command, tagged by the page object method that issued it, the test case
+ * and the browser.
+ *
+ * Sessions get a listener(browser) through the same EventFiringDecorator TimeoutPolicy.instrument()
+ * uses; each command is timed and added to a fixed-bucket histogram (lock-free counters, one per tag
+ * combination). The page object method is the closest com.orangehrm.pages frame on the calling stack
+ * (else the closest project frame, e.g. BasePage.clickElement or BaseTest.openSession); the test case
+ * is set per thread by CommandMetricsListener.
+ *
+ * At suite end writeJson() / writePrometheus() export the histograms
+ * (target/webdriver-commands.json, target/webdriver-commands.prom).
+ */
+public final class CommandMetrics {
+
+    // Upper bucket bounds in millis; the last (implicit) bucket is +Inf
+    private static final long[] BOUNDS_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+    private static final String NO_TAG = "-";
+    private static final int MAX_STACK_DEPTH = 64;
+
+    private static final Map<Key, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> TEST_CASE = new ThreadLocal<>();
+    // Commands issued by the current thread since the last reset: [count, nanos]
+    private static final ThreadLocal<long[]> THREAD_COMMANDS = ThreadLocal.withInitial(() -> new long[2]);
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private CommandMetrics() {
+    }
+
+    /**
+     * Listener that records the commands of one session; add it to the session's decorator
+     */
+    public static WebDriverListener listener(String browser) {
+        return new Recorder(browser == null ? NO_TAG : browser.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Tag the commands issued by the current thread with a test case (null to clear)
+     */
+    public static void setTestCase(String testCaseId) {
+        if (testCaseId == null) {
+            TEST_CASE.remove();
+        } else {
+            TEST_CASE.set(testCaseId);
+        }
+    }
+
+    /**
+     * Record one command
+     *
+     * @param command "Interface.method", e.g. "WebElement.click"
+     * @param pageMethod Page object method that issued it
+     * @param browser Browser of the session
+     * @param nanos Latency
+     * @param failed Whether the command threw
+     */
+    public static void record(String command, String pageMethod, String browser, long nanos, boolean failed) {
+        String testCase = TEST_CASE.get();
+        Key key = new Key(command, pageMethod, testCase == null ? NO_TAG : testCase, browser);
+        HISTOGRAMS.computeIfAbsent(key, k -> new Histogram()).add(nanos, failed);
+        long[] issued = THREAD_COMMANDS.get();
+        issued[0]++;
+        issued[1] += nanos;
+    }
+
+    /**
+     * Number of commands issued by the current thread since the last reset
+     */
+    public static long threadCommandCount() {
+        return THREAD_COMMANDS.get()[0];
+    }
+
+    /**
+     * Time the current thread spent in WebDriver commands since the last reset, in nanos
+     */
+    public static long threadCommandNanos() {
+        return THREAD_COMMANDS.get()[1];
+    }
+
+    /**
+     * Start counting the current thread's commands from zero (called at the start of every test)
+     */
+    public static void resetThreadCommands() {
+        long[] issued = THREAD_COMMANDS.get();
+        issued[0] = 0;
+        issued[1] = 0;
+    }
+
+    /**
+     * Print the commands with the largest total time
+     *
+     * @param limit Number of rows to print
+     */
+    public static void printStatistics(int limit) {
+        if (HISTOGRAMS.isEmpty()) {
+            return;
+        }
+        Map<String, long[]> byCommand = new LinkedHashMap<>(); // command @ page method -> [count, nanos]
+        for (Map.Entry<Key, Histogram> entry : HISTOGRAMS.entrySet()) {
+            long[] totals = byCommand.computeIfAbsent(entry.getKey().command() + " @ " + entry.getKey().pageMethod(),
+                k -> new long[2]);
+            totals[0] += entry.getValue().count.sum();
+            totals[1] += entry.getValue().sumNanos.sum();
+        }
+        System.out.println("\n===== WebDriver command latency (top " + limit + " by total time) =====");
+        byCommand.entrySet().stream()
+            .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[1]).reversed())
+            .limit(limit)
+            .forEach(e -> System.out.println(String.format(Locale.ROOT, "%s  calls=%d total=%.1fs avg=%.1fms",
+                e.getKey(), e.getValue()[0], e.getValue()[1] / 1e9, e.getValue()[1] / 1e6 / e.getValue()[0])));
+    }
+
+    /**
+     * Write every histogram as JSON (counts per bucket plus estimated percentiles)
+     *
+     * @param file Output file, parent directories are created if missing
+     */
+    public static void writeJson(Path file) throws IOException {
+        List<Map<String, Object>> commands = new ArrayList<>();
+        for (Map.Entry<Key, Histogram> entry : sorted()) {
+            Key key = entry.getKey();
+            Histogram histogram = entry.getValue();
+            long[] buckets = histogram.buckets();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("command", key.command());
+            row.put("pageMethod", key.pageMethod());
+            row.put("testCase", key.testCase());
+            row.put("browser", key.browser());
+            row.put("count", histogram.count.sum());
+            row.put("errors", histogram.errors.sum());
+            row.put("sumMillis", histogram.sumNanos.sum() / 1_000_000);
+            row.put("p50Millis", percentile(buckets, 50));
+            row.put("p95Millis", percentile(buckets, 95));
+            row.put("p99Millis", percentile(buckets, 99));
+            row.put("buckets", Arrays.stream(buckets).boxed().toList());
+            commands.add(row);
+        }
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("generated", Instant.now().toString());
+        document.put("bucketBoundsMillis", Arrays.stream(BOUNDS_MILLIS).boxed().toList());
+        document.put("commands", commands);
+        write(file, List.of(new Json().toJson(document)));
+    }
+
+    /**
+     * Write every histogram in the Prometheus text exposition format
+     * (webdriver_command_duration_seconds histogram and webdriver_command_errors_total counter)
+     *
+     * @param file Output file, parent directories are created if missing
+     */
+    public static void writePrometheus(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# HELP webdriver_command_duration_seconds Latency of WebDriver commands");
+        lines.add("# TYPE webdriver_command_duration_seconds histogram");
+        List<Map.Entry<Key, Histogram>> entries = sorted();
+        for (Map.Entry<Key, Histogram> entry : entries) {
+            String labels = entry.getKey().labels();
+            Histogram histogram = entry.getValue();
+            long[] buckets = histogram.buckets();
+            long cumulative = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                cumulative += buckets[i];
+                String le = i < BOUNDS_MILLIS.length ? String.valueOf(BOUNDS_MILLIS[i] / 1000.0) : "+Inf";
+                lines.add("webdriver_command_duration_seconds_bucket{" + labels + ",le=\"" + le + "\"} " + cumulative);
+            }
+            lines.add(String.format(Locale.ROOT, "webdriver_command_duration_seconds_sum{%s} %.6f",
+                labels, histogram.sumNanos.sum() / 1e9));
+            lines.add("webdriver_command_duration_seconds_count{" + labels + "} " + cumulative);
+        }
+        lines.add("# HELP webdriver_command_errors_total WebDriver commands that threw");
+        lines.add("# TYPE webdriver_command_errors_total counter");
+        for (Map.Entry<Key, Histogram> entry : entries) {
+            lines.add("webdriver_command_errors_total{" + entry.getKey().labels() + "} " + entry.getValue().errors.sum());
+        }
+        write(file, lines);
+    }
+
+    private static List<Map.Entry<Key, Histogram>> sorted() {
+        List<Map.Entry<Key, Histogram>> entries = new ArrayList<>(HISTOGRAMS.entrySet());
+        entries.sort(Map.Entry.comparingByKey(Comparator.comparing(Key::command)
+            .thenComparing(Key::pageMethod).thenComparing(Key::testCase).thenComparing(Key::browser)));
+        return entries;
+    }
+
+    /**
+     * Upper bound of the bucket holding the p-th percentile (-1 for no samples or the +Inf bucket)
+     */
+    private static long percentile(long[] buckets, int p) {
+        long total = 0;
+        for (long count : buckets) {
+            total += count;
+        }
+        long rank = (long) Math.ceil(p / 100.0 * total);
+        long seen = 0;
+        for (int i = 0; i < buckets.length && total > 0; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return i < BOUNDS_MILLIS.length ? BOUNDS_MILLIS[i] : -1;
+            }
+        }
+        return -1;
+    }
+
+    private static void write(Path file, List<String> lines) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Closest page object frame on the calling stack, else the closest project frame
+     */
+    static String callingPageMethod() {
+        return WALKER.walk(frames -> {
+            String fallback = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames.limit(MAX_STACK_DEPTH)::iterator) {
+                String className = frame.getClassName();
+                if (!className.startsWith("com.orangehrm.") || className.startsWith(CommandMetrics.class.getName())
+                        || className.startsWith(TimeoutPolicy.class.getName())) {
+                    continue;
+                }
+                String method = className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+                if (className.startsWith("com.orangehrm.pages.")) {
+                    return method;
+                }
+                if (fallback == null) {
+                    fallback = method;
+                }
+            }
+            return fallback == null ? NO_TAG : fallback;
+        });
+    }
+
+    private record Key(String command, String pageMethod, String testCase, String browser) {
+
+        String labels() {
+            return "command=\"" + escape(command) + "\",page_method=\"" + escape(pageMethod)
+                + "\",test_case=\"" + escape(testCase) + "\",browser=\"" + escape(browser) + "\"";
+        }
+
+        private static String escape(String value) {
+            return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+    }
+
+    /**
+     * Fixed-bucket latency histogram; every counter is updated without locking
+     */
+    private static final class Histogram {
+        private final AtomicLongArray counts = new AtomicLongArray(BOUNDS_MILLIS.length + 1);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder sumNanos = new LongAdder();
+
+        void add(long nanos, boolean failed) {
+            long millis = nanos / 1_000_000;
+            int bucket = 0;
+            while (bucket < BOUNDS_MILLIS.length && millis >= BOUNDS_MILLIS[bucket]) {
+                bucket++;
+            }
+            counts.incrementAndGet(bucket);
+            count.increment();
+            sumNanos.add(nanos);
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        long[] buckets() {
+            long[] snapshot = new long[counts.length()];
+            for (int i = 0; i < snapshot.length; i++) {
+                snapshot[i] = counts.get(i);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Times every call the decorator forwards to the session
+     */
+    private static final class Recorder implements WebDriverListener {
+        // Accessors answered by the client that only hand out another decorated object
+        // (driver.manage().timeouts() is one real command, not three)
+        private static final Set<String> LOCAL_CALLS = Set.of(
+            "WebDriver.manage", "WebDriver.navigate", "WebDriver.switchTo",
+            "Options.timeouts", "Options.window", "Options.logs",
+            "WrapsDriver.getWrappedDriver", "WrapsElement.getWrappedElement");
+
+        // Start times of the calls in flight on this thread (innermost last)
+        private final ThreadLocal<Deque<long[]>> started = ThreadLocal.withInitial(ArrayDeque::new);
+        private final String browser;
+
+        Recorder(String browser) {
+            this.browser = browser;
+        }
+
+        @Override
+        public void beforeAnyCall(Object target, Method method, Object[] args) {
+            if (command(method) != null) {
+                started.get().push(new long[] {System.nanoTime()});
+            }
+        }
+
+        @Override
+        public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+            stop(method, false);
+        }
+
+        @Override
+        public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+            stop(method, true);
+        }
+
+        private void stop(Method method, boolean failed) {
+            String command = command(method);
+            if (command == null) {
+                return;
+            }
+            long[] start = started.get().poll();
+            if (start == null) {
+                return;
+            }
+            record(command, callingPageMethod(), browser, System.nanoTime() - start[0], failed);
+        }
+
+        /**
+         * "Interface.method", or null for calls that never reach the browser
+         */
+        private static String command(Method method) {
+            if (method.getDeclaringClass() == Object.class) {
+                return null;
+            }
+            String command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+            return LOCAL_CALLS.contains(command) ? null : command;
+        }
+    }
+}
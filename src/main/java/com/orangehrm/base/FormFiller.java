@@ -0,0 +1,80 @@
+package com.orangehrm.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sets the values of several form inputs in one executeScript call.
+ * Each input is located from its candidate locators inside the browser (same rules as CandidateProbe),
+ * its value is set through the native value setter and 'input' / 'change' events are dispatched so the
+ * Vue components pick up the new value. A whole form costs one round trip instead of a lookup, a wait,
+ * clear() and one keystroke per character for every field.
+ *
+ * No keys are pressed, so keyboard behaviour (maxlength, key handlers) is not exercised.
+ */
+public class FormFiller {
+
+    // arguments[0] = [[[[using, value], ...], text], ...]
+    // returns indices of the fields that had no visible, editable input
+    private static final String FILL_SCRIPT = CandidateProbe.FIND_FUNCTIONS +
+        "var fields = arguments[0];" +
+        "var missed = [];" +
+        "for (var i = 0; i < fields.length; i++) {" +
+        "  var specs = fields[i][0];" +
+        "  var target = null;" +
+        "  for (var c = 0; c < specs.length && !target; c++) {" +
+        "    try {" +
+        "      var found = find(specs[c][0], specs[c][1]);" +
+        "      for (var j = 0; j < found.length; j++) {" +
+        "        if (visible(found[j])) { target = found[j]; break; }" +
+        "      }" +
+        "    } catch (err) { /* invalid selector for this document - try next candidate */ }" +
+        "  }" +
+        "  var editable = target && !target.disabled && !target.readOnly" +
+        "    && (target instanceof HTMLInputElement || target instanceof HTMLTextAreaElement);" +
+        "  if (!editable) { missed.push(i); continue; }" +
+        "  var proto = target instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;" +
+        "  Object.getOwnPropertyDescriptor(proto, 'value').set.call(target, fields[i][1]);" +
+        "  target.dispatchEvent(new Event('input', {bubbles: true}));" +
+        "  target.dispatchEvent(new Event('change', {bubbles: true}));" +
+        "}" +
+        "return missed;";
+
+    private FormFiller() {
+    }
+
+    /**
+     * Fill all fields in a single script call.
+     *
+     * @param driver Driver to run the script on
+     * @param candidates Candidate locators of each field, in priority order
+     * @param values Value for each field (parallel to candidates); "" clears the input
+     * @return Indices of the fields that could not be set (caller should type those),
+     *         or null if a candidate cannot be expressed in the browser
+     */
+    public static List<Integer> fill(WebDriver driver, List<By[]> candidates, List<String> values) {
+        if (candidates.size() != values.size()) {
+            throw new IllegalArgumentException("Expected one value per field, got " + values.size() + " for " + candidates.size());
+        }
+        List<List<Object>> fields = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            List<List<String>> specs = CandidateProbe.toSpecs(candidates.get(i));
+            if (specs == null) {
+                return null;
+            }
+            fields.add(List.of(specs, values.get(i)));
+        }
+        Object raw = ((JavascriptExecutor) driver).executeScript(FILL_SCRIPT, fields);
+        if (!(raw instanceof List<?> list)) {
+            return null;
+        }
+        List<Integer> missed = new ArrayList<>(list.size());
+        for (Object index : list) {
+            missed.add(((Number) index).intValue());
+        }
+        return missed;
+    }
+}
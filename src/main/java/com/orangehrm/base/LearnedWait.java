@@ -0,0 +1,66 @@
+package com.orangehrm.base;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Wait;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Explicit wait whose timeout comes from the TimeoutController.
+ * Each until() looks up the current learned timeout of its key, runs the cached AdaptiveWait for that
+ * timeout and records how long the condition took, so the budget follows the environment.
+ */
+public class LearnedWait implements Wait<WebDriver> {
+
+    private final WebDriver driver;
+    private final String key;
+    private final Duration fallback;
+    private final TimeoutController controller;
+
+    /**
+     * @param driver Driver to wait on
+     * @param key "Page.waitType" the latencies are recorded under
+     * @param fallback Timeout used until enough latencies have been observed
+     */
+    public LearnedWait(WebDriver driver, String key, Duration fallback) {
+        this(driver, key, fallback, TimeoutController.getDefault());
+    }
+
+    LearnedWait(WebDriver driver, String key, Duration fallback, TimeoutController controller) {
+        this.driver = driver;
+        this.key = key;
+        this.fallback = fallback;
+        this.controller = controller;
+    }
+
+    /**
+     * Timeout the next until() will use
+     */
+    public Duration getTimeout() {
+        return controller.timeout(key, fallback);
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> condition) {
+        return until(String.valueOf(condition), condition);
+    }
+
+    /**
+     * Wait until the condition returns a value other than null or false
+     *
+     * @param name Name the time-to-satisfy is recorded under in the AdaptiveWait statistics
+     */
+    public <V> V until(String name, Function<? super WebDriver, V> condition) {
+        Duration timeout = getTimeout();
+        long start = System.nanoTime();
+        try {
+            V value = AdaptiveWait.forSession(driver, timeout).until(name, condition);
+            controller.record(key, Duration.ofNanos(System.nanoTime() - start), false, timeout);
+            return value;
+        } catch (TimeoutException e) {
+            controller.record(key, Duration.ofNanos(System.nanoTime() - start), true, timeout);
+            throw e;
+        }
+    }
+}
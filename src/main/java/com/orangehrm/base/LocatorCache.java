@@ -0,0 +1,170 @@
+package com.orangehrm.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Session-scoped cache of candidate locator resolutions.
+ * Remembers which candidate of a CandidateLocator won, and the winning locator per route.
+ * A repeat lookup on the same page re-validates the cached element in one round trip; after a
+ * reload or navigation the element is gone, so the locator that won on the new route is probed
+ * instead (also one round trip). Keyed by the CandidateLocator, so its adaptive reordering
+ * does not orphan entries.
+ */
+public class LocatorCache {
+
+    // One cache per browser session; entries vanish together with the driver
+    private static final Map<WebDriver, LocatorCache> SESSIONS =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Returns [route, visible] for the cached element in one call; throws if the element is stale
+    private static final String REVALIDATE_SCRIPT =
+        "var e = arguments[0];" +
+        "var visible = !!e && e.isConnected" +
+        "  && window.getComputedStyle(e).visibility !== 'hidden'" +
+        "  && !!(e.offsetWidth || e.offsetHeight || e.getClientRects().length);" +
+        "return [location.pathname, visible];";
+
+    private final Map<CandidateLocator, Resolution> latest = new ConcurrentHashMap<>();
+    private final Map<RouteKey, By> byRoute = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Get the cache bound to the given driver session
+     */
+    public static LocatorCache forSession(WebDriver driver) {
+        synchronized (SESSIONS) {
+            return SESSIONS.computeIfAbsent(driver, d -> new LocatorCache());
+        }
+    }
+
+    /**
+     * Look up the winning candidate for the current route and re-validate it.
+     *
+     * @param driver Driver owning this cache
+     * @param locator Candidate locator being resolved
+     * @return Cached locator if it still matches a visible element, otherwise null
+     */
+    public By lookup(WebDriver driver, CandidateLocator locator) {
+        Resolution last = latest.get(locator);
+        if (last == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        // Common case: same page as the last resolution - one round trip
+        Object[] state = revalidate(driver, last.element);
+        if (state != null && last.route.equals(state[0]) && Boolean.TRUE.equals(state[1])) {
+            hits.incrementAndGet();
+            return last.locator;
+        }
+
+        // Navigated, or the page was reloaded (stale element, most likely the same route):
+        // probe the locator that won on that route
+        String route = state != null ? (String) state[0] : last.route;
+        By remembered = byRoute.get(new RouteKey(route, locator));
+        if (remembered != null) {
+            CandidateProbe.Result probe = probe(driver, remembered);
+            if (probe != null && probe.found() && route.equals(probe.route())) {
+                latest.put(locator, new Resolution(route, remembered, probe.element()));
+                hits.incrementAndGet();
+                return remembered;
+            }
+        }
+
+        latest.remove(locator);
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Record the candidate that won a full scan on the current route
+     *
+     * @param driver Driver owning this cache
+     * @param locator Candidate locator that was scanned
+     * @param winner Winning candidate
+     * @param element Visible element found by the winning candidate
+     */
+    public void remember(WebDriver driver, CandidateLocator locator, By winner, WebElement element) {
+        String route;
+        try {
+            route = currentRoute(driver);
+        } catch (Exception e) {
+            return; // cannot key without a route - just skip caching
+        }
+        remember(route, locator, winner, element);
+    }
+
+    /**
+     * Record a winning candidate for an already known route
+     */
+    public void remember(String route, CandidateLocator locator, By winner, WebElement element) {
+        latest.put(locator, new Resolution(route, winner, element));
+        byRoute.put(new RouteKey(route, locator), winner);
+    }
+
+    /**
+     * Drop every cached resolution (e.g. after the session was reset)
+     */
+    public void clear() {
+        latest.clear();
+        byRoute.clear();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static String currentRoute(WebDriver driver) {
+        String url = driver.getCurrentUrl();
+        // Strip scheme/host and query so the key matches location.pathname
+        int start = url.indexOf("://");
+        int pathStart = start >= 0 ? url.indexOf('/', start + 3) : url.indexOf('/');
+        if (pathStart < 0) {
+            return "/";
+        }
+        String path = url.substring(pathStart);
+        int query = path.indexOf('?');
+        if (query >= 0) path = path.substring(0, query);
+        int hash = path.indexOf('#');
+        if (hash >= 0) path = path.substring(0, hash);
+        return path;
+    }
+
+    private static CandidateProbe.Result probe(WebDriver driver, By locator) {
+        try {
+            return CandidateProbe.probe(driver, new By[] {locator});
+        } catch (Exception e) {
+            return null; // script failure - treat as a miss
+        }
+    }
+
+    private static Object[] revalidate(WebDriver driver, WebElement element) {
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(REVALIDATE_SCRIPT, element);
+            if (result instanceof List<?> list && list.size() == 2) {
+                return new Object[] { String.valueOf(list.get(0)), list.get(1) };
+            }
+        } catch (Exception ignored) {
+            // stale element or script failure - treat as a miss
+        }
+        return null;
+    }
+
+    private record Resolution(String route, By locator, WebElement element) {}
+
+    private record RouteKey(String route, CandidateLocator locator) {}
+}
@@ -0,0 +1,94 @@
+package com.orangehrm.base;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebDriver;
+import java.time.Duration;
+
+/**
+ * Browser-side pending-request counter for the OrangeHRM SPA.
+ * Wraps XMLHttpRequest and fetch (the Vue UI talks to /api/v2/...) and lets the test wait,
+ * event-driven inside the browser, until no request has been in flight for a quiet window.
+ *
+ * The instrumentation lives in the page's window, so it is re-installed lazily after every full page load.
+ */
+public class NetworkMonitor {
+
+    // Idempotent: installs window.__ohrmNet once per document
+    static final String INSTALL_SCRIPT =
+        "if (!window.__ohrmNet) {" +
+        "  var net = window.__ohrmNet = { pending: 0, last: Date.now(), listeners: [] };" +
+        "  net.touch = function() {" +
+        "    net.last = Date.now();" +
+        "    net.listeners.slice().forEach(function(l) { l(); });" +
+        "  };" +
+        "  var begin = function() { net.pending++; net.touch(); };" +
+        "  var end = function() { net.pending = Math.max(0, net.pending - 1); net.touch(); };" +
+        "  var send = XMLHttpRequest.prototype.send;" +
+        "  XMLHttpRequest.prototype.send = function() {" +
+        "    var finished = false;" +
+        "    var finish = function() { if (!finished) { finished = true; end(); } };" +
+        "    this.addEventListener('loadend', finish);" +
+        "    begin();" +
+        "    try { return send.apply(this, arguments); } catch (e) { finish(); throw e; }" +
+        "  };" +
+        "  if (window.fetch) {" +
+        "    var originalFetch = window.fetch;" +
+        "    window.fetch = function() {" +
+        "      begin();" +
+        "      try {" +
+        "        return originalFetch.apply(this, arguments).finally(end);" +
+        "      } catch (e) { end(); throw e; }" +
+        "    };" +
+        "  }" +
+        "  /* Requests started before installation are not counted, but their completion still shows up as activity */" +
+        "  if (window.PerformanceObserver) {" +
+        "    try { new PerformanceObserver(function() { net.touch(); }).observe({ type: 'resource', buffered: false }); } catch (e) {}" +
+        "  }" +
+        "  document.addEventListener('readystatechange', function() { net.touch(); });" +
+        "}";
+
+    // arguments: quietMillis, timeoutMillis, callback -> resolves true when idle, false on timeout
+    private static final String WAIT_FOR_IDLE_SCRIPT =
+        INSTALL_SCRIPT +
+        "var quiet = arguments[0], timeout = arguments[1], done = arguments[arguments.length - 1];" +
+        "var net = window.__ohrmNet, timer = null, guard = null;" +
+        "var finish = function(result) {" +
+        "  clearTimeout(timer); clearTimeout(guard);" +
+        "  var i = net.listeners.indexOf(arm);" +
+        "  if (i >= 0) net.listeners.splice(i, 1);" +
+        "  done(result);" +
+        "};" +
+        "var arm = function() {" +
+        "  clearTimeout(timer);" +
+        "  if (net.pending === 0 && document.readyState === 'complete') {" +
+        "    timer = setTimeout(function() { finish(true); }, quiet);" +
+        "  }" +
+        "};" +
+        "net.listeners.push(arm);" +
+        "guard = setTimeout(function() { finish(false); }, timeout);" +
+        "arm();";
+
+    private NetworkMonitor() {
+    }
+
+    /**
+     * Block until the page has had zero pending XHR/fetch requests for the quiet window.
+     *
+     * @param driver Driver to wait on
+     * @param quiet How long the pending count must stay at zero
+     * @param timeout Upper bound for the whole wait
+     * @return true if the network went idle, false if the timeout elapsed first
+     */
+    public static boolean waitForIdle(WebDriver driver, Duration quiet, Duration timeout) {
+        // The browser-side guard fires first as long as timeout stays below the
+        // session script timeout (W3C default 30s)
+        try {
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(
+                WAIT_FOR_IDLE_SCRIPT, quiet.toMillis(), timeout.toMillis());
+            return Boolean.TRUE.equals(result);
+        } catch (ScriptTimeoutException e) {
+            return false;
+        }
+    }
+}
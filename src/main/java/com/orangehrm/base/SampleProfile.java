@@ -0,0 +1,81 @@
+package com.orangehrm.base;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Properties file holding a window of recent samples per key ("key=12,15,11", oldest first).
+ * Used for the latency windows of TimeoutController and the command count baseline of the budgets.
+ */
+public final class SampleProfile {
+
+    private SampleProfile() {
+    }
+
+    /**
+     * Read the samples of every key; malformed entries are skipped
+     *
+     * @return Samples per key, empty if the file does not exist or cannot be read
+     */
+    public static Map<String, long[]> load(Path file) {
+        Map<String, long[]> samples = new LinkedHashMap<>();
+        if (file == null || !Files.isRegularFile(file)) {
+            return samples;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            System.out.println("Warning: Could not read " + file + " - " + e.getMessage());
+            return samples;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            String[] values = properties.getProperty(key).split(",");
+            long[] parsed = new long[values.length];
+            int count = 0;
+            for (String value : values) {
+                try {
+                    parsed[count] = Long.parseLong(value.trim());
+                    count++;
+                } catch (NumberFormatException e) {
+                    // empty or malformed entry
+                }
+            }
+            samples.put(key, Arrays.copyOf(parsed, count));
+        }
+        return samples;
+    }
+
+    /**
+     * Replace the file with the given samples.
+     * Written to a temporary file and moved into place, so parallel shards never read half a profile.
+     *
+     * @param comment Header comment of the properties file
+     */
+    public static void save(Path file, Map<String, long[]> samples, String comment) throws IOException {
+        Properties properties = new Properties();
+        for (Map.Entry<String, long[]> entry : samples.entrySet()) {
+            StringBuilder value = new StringBuilder();
+            for (long sample : entry.getValue()) {
+                value.append(value.length() == 0 ? "" : ",").append(sample);
+            }
+            properties.setProperty(entry.getKey(), value.toString());
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            properties.store(writer, comment);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
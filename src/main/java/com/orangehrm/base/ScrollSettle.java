@@ -0,0 +1,81 @@
+package com.orangehrm.base;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import java.time.Duration;
+
+/**
+ * Scrolls an element into view and returns as soon as scrolling has finished.
+ * Nothing is scrolled when the element is already fully in the viewport. Otherwise the element is
+ * centered and the wait ends on the 'scrollend' event (where supported) or once its position has been
+ * the same for two animation frames, whichever comes first - instead of a fixed sleep after every scroll.
+ */
+public class ScrollSettle {
+
+    // inView(element), settleScroll(element, timeoutMillis, done(scrolled))
+    static final String SETTLE_FUNCTIONS =
+        "function inView(e) {" +
+        "  var r = e.getBoundingClientRect(), w = window.innerWidth, h = window.innerHeight;" +
+        "  var cx = r.left + r.width / 2, cy = r.top + r.height / 2;" +
+        "  /* elements larger than the viewport only need their center on screen */" +
+        "  var okX = r.width <= w ? r.left >= 0 && r.right <= w : cx >= 0 && cx < w;" +
+        "  var okY = r.height <= h ? r.top >= 0 && r.bottom <= h : cy >= 0 && cy < h;" +
+        "  return okX && okY;" +
+        "}" +
+        "function settleScroll(e, timeout, done) {" +
+        "  if (inView(e)) { done(false); return; }" +
+        "  var finished = false, last = null, stable = 0, guard = null;" +
+        "  var frame = window.requestAnimationFrame ? window.requestAnimationFrame.bind(window)" +
+        "    : function(f) { return setTimeout(f, 16); };" +
+        "  var finish = function() {" +
+        "    if (finished) return;" +
+        "    finished = true;" +
+        "    clearTimeout(guard);" +
+        "    window.removeEventListener('scrollend', finish, true);" +
+        "    done(true);" +
+        "  };" +
+        "  var check = function() {" +
+        "    if (finished) return;" +
+        "    var r = e.getBoundingClientRect();" +
+        "    if (last && last.top === r.top && last.left === r.left) {" +
+        "      if (++stable >= 2) { finish(); return; }" +
+        "    } else {" +
+        "      stable = 0;" +
+        "    }" +
+        "    last = r;" +
+        "    frame(check);" +
+        "  };" +
+        "  /* capture phase also sees scrollend of inner scroll containers (it does not bubble) */" +
+        "  if ('onscrollend' in window) window.addEventListener('scrollend', finish, true);" +
+        "  guard = setTimeout(finish, timeout);" +
+        "  e.scrollIntoView({block: 'center', inline: 'center'});" +
+        "  frame(check);" +
+        "}";
+
+    // arguments: element, timeoutMillis, callback -> true if it had to scroll
+    private static final String SCROLL_SCRIPT = SETTLE_FUNCTIONS +
+        "var done = arguments[arguments.length - 1];" +
+        "settleScroll(arguments[0], arguments[1], done);";
+
+    private ScrollSettle() {
+    }
+
+    /**
+     * Scroll the element into view (if it is not fully visible) and wait for scrolling to settle
+     *
+     * @param driver Driver owning the element
+     * @param element Element to bring into view
+     * @param timeout Upper bound for the wait
+     * @return true if the page had to scroll
+     */
+    public static boolean intoView(WebDriver driver, WebElement element, Duration timeout) {
+        try {
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(SCROLL_SCRIPT, element, timeout.toMillis());
+            return Boolean.TRUE.equals(result);
+        } catch (ScriptTimeoutException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.orangehrm.base;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Snapshot of an authenticated browser session: the cookies of the application domain
+ * (including the "orangehrm" session cookie) plus localStorage and sessionStorage.
+ * Restoring it into another session skips the UI login flow.
+ */
+public class SessionSnapshot {
+
+    private static final String READ_STORAGE_SCRIPT =
+        "var dump = function(s) { var o = {}; for (var i = 0; i < s.length; i++) { var k = s.key(i); o[k] = s.getItem(k); } return o; };" +
+        "return [location.origin, dump(window.localStorage), dump(window.sessionStorage)];";
+
+    private static final String WRITE_STORAGE_SCRIPT =
+        "var fill = function(s, o) { Object.keys(o).forEach(function(k) { s.setItem(k, o[k]); }); };" +
+        "fill(window.localStorage, arguments[0]);" +
+        "fill(window.sessionStorage, arguments[1]);";
+
+    private final String origin;
+    private final Set<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+
+    private SessionSnapshot(String origin, Set<Cookie> cookies,
+                            Map<String, String> localStorage, Map<String, String> sessionStorage) {
+        this.origin = origin;
+        this.cookies = Set.copyOf(cookies);
+        this.localStorage = Map.copyOf(localStorage);
+        this.sessionStorage = Map.copyOf(sessionStorage);
+    }
+
+    /**
+     * Capture cookies and storage of the page currently open in the driver
+     */
+    public static SessionSnapshot capture(WebDriver driver) {
+        List<?> state = (List<?>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        return new SessionSnapshot(
+            String.valueOf(state.get(0)),
+            driver.manage().getCookies(),
+            toStringMap(state.get(1)),
+            toStringMap(state.get(2)));
+    }
+
+    /**
+     * Inject the snapshot into the driver.
+     * The driver must already be on a page of the same origin (cookies can only be set for the current domain).
+     *
+     * @return false if the driver is on a different origin or the browser rejected a cookie or the
+     *         storage; the cookies are cleared again, so the caller can fall back to the UI login
+     */
+    public boolean restore(WebDriver driver) {
+        try {
+            String current = String.valueOf(((JavascriptExecutor) driver).executeScript("return location.origin;"));
+            if (!origin.equals(current)) {
+                return false;
+            }
+            driver.manage().deleteAllCookies();
+            for (Cookie cookie : cookies) {
+                driver.manage().addCookie(cookie);
+            }
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, localStorage, sessionStorage);
+            return true;
+        } catch (WebDriverException e) {
+            // e.g. InvalidCookieDomainException for host-only cookies on localhost / Grid hosts
+            System.out.println("Warning: Could not restore session snapshot - " + e.getRawMessage());
+            try {
+                driver.manage().deleteAllCookies();
+            } catch (WebDriverException ignored) {
+                // nothing restored worth keeping
+            }
+            return false;
+        }
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    private static Map<String, String> toStringMap(Object raw) {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (raw instanceof Map<?, ?> map) {
+            map.forEach((k, v) -> result.put(String.valueOf(k), String.valueOf(v)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,219 @@
+package com.orangehrm.base;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timeouts learned from observed latencies instead of fixed constants.
+ *
+ * Every wait is recorded under "Page.waitType" (e.g. "MyInfoPage.loader"). Once a key has enough
+ * samples its timeout is -Dtimeouts.multiplier (default 3) x the p99 of its recent latencies, clamped to
+ * -Dtimeouts.min / -Dtimeouts.max (millis, default 1000 / 25000); until then the caller's fallback
+ * constant is used. The maximum is kept below the session script timeout (TimeoutPolicy.scriptTimeout()),
+ * since the browser-side waits of ClickReadiness and ScrollSettle run as executeAsyncScript. A wait that times out is recorded at the time it gave up, so a budget that turns
+ * out too short grows on the next run instead of failing forever.
+ *
+ * The latency windows are persisted to -Dtimeouts.profile (default .test-history/timeout-profile.properties)
+ * and seed the next run. -Dtimeouts.adaptive=false always uses the fallback constants.
+ */
+public class TimeoutController {
+
+    private static final int WINDOW = 200;
+    private static final int MIN_SAMPLES = 20;
+    private static final long ROUND_MILLIS = 250; // keeps the number of distinct cached waits small
+    private static final String DEFAULT_PROFILE = ".test-history/timeout-profile.properties";
+    private static final long SCRIPT_TIMEOUT_MARGIN_MILLIS = 1000; // async waits answer before the driver gives up
+
+    private static volatile TimeoutController defaultController;
+
+    private final Path profile;
+    private final boolean adaptive;
+    private final double multiplier;
+    private final long minMillis;
+    private final long maxMillis;
+    private final Map<String, Window> windows = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param profile File the latency windows are loaded from and saved to (null = not persisted)
+     * @param adaptive false to always use the fallback timeouts
+     * @param multiplier Timeout = multiplier x p99
+     * @param minMillis Lower bound for a learned timeout
+     * @param maxMillis Upper bound for a learned timeout
+     */
+    public TimeoutController(Path profile, boolean adaptive, double multiplier, long minMillis, long maxMillis) {
+        this.profile = profile;
+        this.adaptive = adaptive;
+        this.multiplier = multiplier;
+        this.minMillis = minMillis;
+        this.maxMillis = maxMillis;
+        load();
+    }
+
+    /**
+     * Process-wide controller configured from system properties
+     */
+    public static TimeoutController getDefault() {
+        TimeoutController controller = defaultController;
+        if (controller == null) {
+            synchronized (TimeoutController.class) {
+                controller = defaultController;
+                if (controller == null) {
+                    long minMillis = Long.parseLong(System.getProperty("timeouts.min", "1000"));
+                    long maxMillis = Math.min(Long.parseLong(System.getProperty("timeouts.max", "25000")),
+                        TimeoutPolicy.scriptTimeout().toMillis() - SCRIPT_TIMEOUT_MARGIN_MILLIS);
+                    controller = new TimeoutController(
+                        Path.of(System.getProperty("timeouts.profile", DEFAULT_PROFILE)),
+                        Boolean.parseBoolean(System.getProperty("timeouts.adaptive", "true")),
+                        Double.parseDouble(System.getProperty("timeouts.multiplier", "3")),
+                        minMillis,
+                        Math.max(minMillis, maxMillis));
+                    defaultController = controller;
+                }
+            }
+        }
+        return controller;
+    }
+
+    /**
+     * Current timeout of a wait
+     *
+     * @param key "Page.waitType"
+     * @param fallback Timeout used until enough latencies have been observed
+     */
+    public Duration timeout(String key, Duration fallback) {
+        long learned = learnedMillis(key);
+        return learned < 0 ? fallback : Duration.ofMillis(learned);
+    }
+
+    /**
+     * Learned timeout in millis, or -1 while there are too few samples (or adaptation is off)
+     */
+    public long learnedMillis(String key) {
+        Window window = windows.get(key);
+        if (!adaptive || window == null) {
+            return -1;
+        }
+        long p99 = window.percentile(99, MIN_SAMPLES);
+        if (p99 < 0) {
+            return -1;
+        }
+        long millis = Math.max(minMillis, Math.min(maxMillis, (long) Math.ceil(p99 * multiplier)));
+        return Math.min(maxMillis, (millis + ROUND_MILLIS - 1) / ROUND_MILLIS * ROUND_MILLIS);
+    }
+
+    /**
+     * Record the latency of a wait
+     *
+     * @param key "Page.waitType"
+     * @param elapsed How long the wait took (or waited before giving up)
+     * @param timedOut Whether the condition was never satisfied
+     * @param timeout Timeout the wait ran with
+     */
+    public void record(String key, Duration elapsed, boolean timedOut, Duration timeout) {
+        boolean learned = learnedMillis(key) >= 0;
+        Window window = windows.computeIfAbsent(key, k -> new Window());
+        window.add(elapsed.toMillis());
+        if (timedOut) {
+            window.exceeded.increment();
+            if (learned) {
+                System.out.println("Warning: " + key + " exceeded its learned budget of " + timeout.toMillis()
+                    + " ms (p99 " + window.percentile(99, 1) + " ms)");
+            }
+        }
+    }
+
+    /**
+     * p-th percentile of the recent latencies of a wait, or -1 if none were recorded
+     */
+    public long percentile(String key, int p) {
+        Window window = windows.get(key);
+        return window == null ? -1 : window.percentile(p, 1);
+    }
+
+    /**
+     * Write the latency windows to the profile so the next run starts from them
+     */
+    public synchronized void save() throws IOException {
+        if (profile == null || windows.isEmpty()) {
+            return;
+        }
+        Map<String, long[]> samples = new LinkedHashMap<>();
+        windows.forEach((key, window) -> samples.put(key, window.samples()));
+        SampleProfile.save(profile, samples, "Recent wait latencies in millis per Page.waitType (see TimeoutController)");
+    }
+
+    /**
+     * Print p50 / p99, the learned timeout and how often each wait exceeded its budget
+     */
+    public void printStatistics() {
+        if (windows.isEmpty()) {
+            return;
+        }
+        System.out.println("\n===== Adaptive timeouts (x" + multiplier + " p99) =====");
+        for (Map.Entry<String, Window> entry : windows.entrySet()) {
+            Window window = entry.getValue();
+            long learned = learnedMillis(entry.getKey());
+            System.out.println(entry.getKey() + "  samples=" + window.size()
+                + " p50=" + window.percentile(50, 1) + "ms p99=" + window.percentile(99, 1) + "ms"
+                + " timeout=" + (learned < 0 ? "default" : learned + "ms")
+                + " exceeded=" + window.exceeded.sum());
+        }
+    }
+
+    private void load() {
+        SampleProfile.load(profile).forEach((key, samples) -> {
+            Window window = windows.computeIfAbsent(key, k -> new Window());
+            for (long sample : samples) {
+                window.add(sample);
+            }
+        });
+    }
+
+    /**
+     * Ring buffer of the most recent latencies of one wait
+     */
+    private static final class Window {
+        private final long[] ring = new long[WINDOW];
+        private final LongAdder exceeded = new LongAdder();
+        private int next;
+        private int size;
+
+        synchronized void add(long millis) {
+            ring[next] = millis;
+            next = (next + 1) % ring.length;
+            size = Math.min(size + 1, ring.length);
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        /**
+         * Oldest to newest
+         */
+        synchronized long[] samples() {
+            long[] samples = new long[size];
+            int start = size < ring.length ? 0 : next;
+            for (int i = 0; i < size; i++) {
+                samples[i] = ring[(start + i) % ring.length];
+            }
+            return samples;
+        }
+
+        long percentile(int p, int minSamples) {
+            long[] sorted = samples();
+            if (sorted.length < minSamples || sorted.length == 0) {
+                return -1;
+            }
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.orangehrm.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Owns the timeouts of a browser session: implicit wait, page load, script and the explicit waits
+ * of the page objects (learned by TimeoutController).
+ *
+ * Code that only probes for elements (candidate scans, "is the loader gone" checks) runs inside
+ * withoutImplicitWait(), so a missing candidate costs one round trip instead of the full implicit wait;
+ * the session value is restored afterwards. Sessions wrapped with instrument() also measure how long
+ * lookups that found nothing spent in the implicit wait, per thread (see implicitWaitCostNanos()).
+ *
+ * Defaults: -Dtimeouts.implicit=1000 and -Dtimeouts.script=30000 (millis); the page load timeout
+ * is learned under "BaseTest.pageLoad" with a 10 s fallback.
+ */
+public class TimeoutPolicy {
+
+    public static final String PAGE_LOAD_KEY = "BaseTest.pageLoad";
+    private static final Duration PAGE_LOAD_FALLBACK = Duration.ofSeconds(10);
+
+    // One policy per browser session; entries vanish together with the driver
+    private static final Map<WebDriver, TimeoutPolicy> SESSIONS =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Implicit wait time spent by lookups that found nothing: [nanos, lookups] per thread
+    private static final ThreadLocal<long[]> IMPLICIT_COST = ThreadLocal.withInitial(() -> new long[2]);
+
+    private final WebDriver driver;
+    private final TimeoutController controller;
+    private volatile Duration implicitWait = Duration.ZERO; // W3C default until apply()
+
+    private TimeoutPolicy(WebDriver driver, TimeoutController controller) {
+        this.driver = driver;
+        this.controller = controller;
+    }
+
+    /**
+     * Get the policy bound to the given driver session
+     */
+    public static TimeoutPolicy forSession(WebDriver driver) {
+        synchronized (SESSIONS) {
+            return SESSIONS.computeIfAbsent(driver, d -> new TimeoutPolicy(d, TimeoutController.getDefault()));
+        }
+    }
+
+    /**
+     * Wrap a new session so its element lookups report implicit wait cost
+     *
+     * @param listeners Further listeners to attach to the same decorator (e.g. CommandMetrics)
+     * @return Decorated driver - use it instead of the original everywhere
+     */
+    public static WebDriver instrument(WebDriver driver, WebDriverListener... listeners) {
+        ImplicitWaitMeter meter = new ImplicitWaitMeter();
+        WebDriverListener[] all = new WebDriverListener[listeners.length + 1];
+        all[0] = meter;
+        System.arraycopy(listeners, 0, all, 1, listeners.length);
+        WebDriver decorated = new EventFiringDecorator<>(all).decorate(driver);
+        meter.policy = forSession(decorated);
+        return decorated;
+    }
+
+    /**
+     * Default implicit wait of a session (-Dtimeouts.implicit, millis)
+     */
+    public static Duration defaultImplicitWait() {
+        return Duration.ofMillis(Long.parseLong(System.getProperty("timeouts.implicit", "1000")));
+    }
+
+    /**
+     * Script timeout of a session (-Dtimeouts.script, millis); async waits must stay below it
+     */
+    public static Duration scriptTimeout() {
+        return Duration.ofMillis(Long.parseLong(System.getProperty("timeouts.script", "30000")));
+    }
+
+    /**
+     * Set the session's implicit wait, page load and script timeouts
+     */
+    public void apply() {
+        setImplicitWait(defaultImplicitWait());
+        driver.manage().timeouts().pageLoadTimeout(pageLoadTimeout());
+        driver.manage().timeouts().scriptTimeout(scriptTimeout());
+    }
+
+    /**
+     * Current (learned) page load timeout
+     */
+    public Duration pageLoadTimeout() {
+        return controller.timeout(PAGE_LOAD_KEY, PAGE_LOAD_FALLBACK);
+    }
+
+    /**
+     * Open a URL with the learned page load timeout and record how long the load took
+     */
+    public void load(String url) {
+        Duration timeout = pageLoadTimeout();
+        driver.manage().timeouts().pageLoadTimeout(timeout);
+        long start = System.nanoTime();
+        try {
+            driver.get(url);
+            controller.record(PAGE_LOAD_KEY, Duration.ofNanos(System.nanoTime() - start), false, timeout);
+        } catch (org.openqa.selenium.TimeoutException e) {
+            controller.record(PAGE_LOAD_KEY, Duration.ofNanos(System.nanoTime() - start), true, timeout);
+            throw e;
+        }
+    }
+
+    /**
+     * Explicit wait with a learned timeout
+     *
+     * @param key "Page.waitType" the latencies are recorded under
+     * @param fallback Timeout used until enough latencies have been observed
+     */
+    public LearnedWait explicitWait(String key, Duration fallback) {
+        return new LearnedWait(driver, key, fallback, controller);
+    }
+
+    /**
+     * Learned timeout for waits that do not go through a LearnedWait (e.g. browser-side async waits)
+     */
+    public Duration explicitTimeout(String key, Duration fallback) {
+        return controller.timeout(key, fallback);
+    }
+
+    /**
+     * Record the latency of a wait that does not go through a LearnedWait
+     */
+    public void recordWait(String key, Duration elapsed, boolean timedOut, Duration timeout) {
+        controller.record(key, elapsed, timedOut, timeout);
+    }
+
+    public Duration getImplicitWait() {
+        return implicitWait;
+    }
+
+    /**
+     * Run with the implicit wait set to the given value, then restore the previous one
+     */
+    public <T> T withImplicitWait(Duration wait, Supplier<T> action) {
+        Duration previous = implicitWait;
+        if (previous.equals(wait)) {
+            return action.get();
+        }
+        setImplicitWait(wait);
+        try {
+            return action.get();
+        } finally {
+            setImplicitWait(previous);
+        }
+    }
+
+    /**
+     * Run an element probe with the implicit wait forced to 0
+     */
+    public <T> T withoutImplicitWait(Supplier<T> action) {
+        return withImplicitWait(Duration.ZERO, action);
+    }
+
+    public void withoutImplicitWait(Runnable action) {
+        withImplicitWait(Duration.ZERO, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private void setImplicitWait(Duration wait) {
+        driver.manage().timeouts().implicitlyWait(wait);
+        implicitWait = wait;
+    }
+
+    /**
+     * Implicit wait time spent on the current thread since the last reset, in nanos
+     */
+    public static long implicitWaitCostNanos() {
+        return IMPLICIT_COST.get()[0];
+    }
+
+    /**
+     * Number of lookups on the current thread that found nothing after an implicit wait
+     */
+    public static long implicitWaitMisses() {
+        return IMPLICIT_COST.get()[1];
+    }
+
+    /**
+     * Start counting from zero (called at the start of every test)
+     */
+    public static void resetImplicitWaitCost() {
+        long[] cost = IMPLICIT_COST.get();
+        cost[0] = 0;
+        cost[1] = 0;
+    }
+
+    /**
+     * Times element lookups and charges those that found nothing to the implicit wait
+     */
+    private static final class ImplicitWaitMeter implements WebDriverListener {
+        private final ThreadLocal<Long> started = new ThreadLocal<>();
+        private volatile TimeoutPolicy policy;
+
+        @Override
+        public void beforeFindElement(WebDriver driver, By locator) {
+            start();
+        }
+
+        @Override
+        public void beforeFindElements(WebDriver driver, By locator) {
+            start();
+        }
+
+        @Override
+        public void afterFindElements(WebDriver driver, By locator, List<WebElement> result) {
+            stop(result.isEmpty());
+        }
+
+        @Override
+        public void afterFindElement(WebDriver driver, By locator, WebElement result) {
+            stop(false);
+        }
+
+        @Override
+        public void beforeFindElement(WebElement element, By locator) {
+            start();
+        }
+
+        @Override
+        public void beforeFindElements(WebElement element, By locator) {
+            start();
+        }
+
+        @Override
+        public void afterFindElements(WebElement element, By locator, List<WebElement> result) {
+            stop(result.isEmpty());
+        }
+
+        @Override
+        public void afterFindElement(WebElement element, By locator, WebElement result) {
+            stop(false);
+        }
+
+        @Override
+        public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+            if ("findElement".equals(method.getName())) {
+                stop(e.getTargetException() instanceof NoSuchElementException);
+            }
+        }
+
+        private void start() {
+            started.set(System.nanoTime());
+        }
+
+        private void stop(boolean missed) {
+            Long start = started.get();
+            started.remove();
+            TimeoutPolicy current = policy;
+            if (start == null || !missed || current == null || current.implicitWait.isZero()) {
+                return;
+            }
+            long[] cost = IMPLICIT_COST.get();
+            cost[0] += System.nanoTime() - start;
+            cost[1]++;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.orangehrm.base;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebDriver;
+import java.time.Duration;
+
+/**
+ * Push-based recorder for OrangeHRM toasts and inline validation messages.
+ * A MutationObserver installed once per page load appends every toast
+ * (oxd-toast--success / --error / --warn / --info) and every oxd-input-group__message
+ * to a timestamped browser-side buffer, so transient toasts cannot be missed by polling.
+ *
+ * Event kinds: "toast-success", "toast-error", "toast-warn", "toast-info", "toast", "validation".
+ * Queries match by kind prefix, so "toast" matches any toast.
+ */
+public class UiEventObserver {
+
+    // Idempotent: installs window.__ohrmUi once per document
+    private static final String INSTALL_SCRIPT =
+        "if (!window.__ohrmUi) {" +
+        "  var ui = window.__ohrmUi = { events: [], checkpoint: 0, listeners: [], seen: new WeakMap() };" +
+        "  var SELECTOR = ui.selector = '.oxd-toast, .oxd-input-group__message';" +
+        "  var classify = ui.classify = function(el) {" +
+        "    var c = el.classList;" +
+        "    if (c.contains('oxd-input-group__message')) return 'validation';" +
+        "    if (c.contains('oxd-toast--success')) return 'toast-success';" +
+        "    if (c.contains('oxd-toast--error')) return 'toast-error';" +
+        "    if (c.contains('oxd-toast--warn')) return 'toast-warn';" +
+        "    if (c.contains('oxd-toast--info')) return 'toast-info';" +
+        "    return 'toast';" +
+        "  };" +
+        "  var record = function(el) {" +
+        "    var text = (el.textContent || '').trim();" +
+        "    if (!text || ui.seen.get(el) === text) return;" +
+        "    ui.seen.set(el, text);" +
+        "    ui.events.push({ kind: classify(el), text: text, ts: Date.now() });" +
+        "    if (ui.events.length > 200) ui.events.shift();" +
+        "    ui.listeners.slice().forEach(function(l) { l(); });" +
+        "  };" +
+        "  var visit = function(node, deep) {" +
+        "    var el = node.nodeType === 1 ? node : node.parentElement;" +
+        "    if (!el) return;" +
+        "    var owner = el.closest(SELECTOR);" +
+        "    if (owner) record(owner);" +
+        "    if (deep && el.querySelectorAll) el.querySelectorAll(SELECTOR).forEach(record);" +
+        "  };" +
+        "  new MutationObserver(function(mutations) {" +
+        "    mutations.forEach(function(m) {" +
+        "      visit(m.target, false);" +
+        "      m.addedNodes.forEach(function(n) { visit(n, true); });" +
+        "    });" +
+        "  }).observe(document.documentElement, { childList: true, subtree: true, characterData: true });" +
+        "  visit(document.documentElement, true);" +
+        "}";
+
+    // Matches an event recorded since the checkpoint, or a validation message that is still on screen
+    // (validation messages persist and may have appeared before the checkpoint; toasts never match
+    // that way, or a toast left over from the previous save would satisfy the next one)
+    private static final String MATCH_FUNCTION =
+        "var matchEvent = function(kind, text) {" +
+        "  var ui = window.__ohrmUi;" +
+        "  var matches = function(k, t) { return k.indexOf(kind) === 0 && (!text || t.indexOf(text) >= 0); };" +
+        "  for (var i = ui.events.length - 1; i >= 0; i--) {" +
+        "    var e = ui.events[i];" +
+        "    if (e.ts < ui.checkpoint) break;" +
+        "    if (matches(e.kind, e.text)) return e;" +
+        "  }" +
+        "  if (kind !== 'validation') return null;" +
+        "  var present = document.querySelectorAll('.oxd-input-group__message');" +
+        "  for (var j = 0; j < present.length; j++) {" +
+        "    var el = present[j];" +
+        "    if ((el.offsetWidth || el.offsetHeight) && matches(ui.classify(el), (el.textContent || '').trim())) return el;" +
+        "  }" +
+        "  return null;" +
+        "};";
+
+    private static final String BEGIN_CAPTURE_SCRIPT =
+        NetworkMonitor.INSTALL_SCRIPT + INSTALL_SCRIPT +
+        "window.__ohrmUi.checkpoint = Date.now();";
+
+    // arguments: kind, text, timeoutMillis, quietMillis, callback
+    // Resolves true on a matching event; false on timeout, or early once the network
+    // has been idle for the quiet window without a match (negative checks return fast)
+    private static final String AWAIT_SCRIPT =
+        NetworkMonitor.INSTALL_SCRIPT + INSTALL_SCRIPT + MATCH_FUNCTION +
+        "var kind = arguments[0], text = arguments[1], timeout = arguments[2], quiet = arguments[3];" +
+        "var done = arguments[arguments.length - 1];" +
+        "if (matchEvent(kind, text)) { done(true); return; }" +
+        "var ui = window.__ohrmUi, net = window.__ohrmNet, idleTimer = null, guard = null;" +
+        "var finish = function(result) {" +
+        "  clearTimeout(idleTimer); clearTimeout(guard);" +
+        "  var i = ui.listeners.indexOf(onEvent); if (i >= 0) ui.listeners.splice(i, 1);" +
+        "  var j = net.listeners.indexOf(onNet); if (j >= 0) net.listeners.splice(j, 1);" +
+        "  done(result);" +
+        "};" +
+        "var onEvent = function() { if (matchEvent(kind, text)) finish(true); };" +
+        "var onNet = function() {" +
+        "  clearTimeout(idleTimer);" +
+        "  if (net.pending === 0 && document.readyState === 'complete') {" +
+        "    idleTimer = setTimeout(function() { finish(matchEvent(kind, text) !== null); }, quiet);" +
+        "  }" +
+        "};" +
+        "ui.listeners.push(onEvent);" +
+        "net.listeners.push(onNet);" +
+        "guard = setTimeout(function() { finish(false); }, timeout);" +
+        "onNet();";
+
+    private UiEventObserver() {
+    }
+
+    /**
+     * Install the observer (and network monitor) and only consider events from now on.
+     * Call right before an action such as Save so earlier toasts do not count.
+     */
+    public static void beginCapture(WebDriver driver) {
+        ((JavascriptExecutor) driver).executeScript(BEGIN_CAPTURE_SCRIPT);
+    }
+
+    /**
+     * Wait in the browser for a matching event.
+     * Returns as soon as the event is recorded, or false once the network has been idle
+     * for the quiet window without one.
+     *
+     * @param kind Event kind prefix
+     * @param text Text fragment to match, or null for any text
+     * @param timeout Maximum time to wait (must stay below the session script timeout)
+     * @param quiet Network quiet window after which a missing event counts as absent
+     */
+    public static boolean awaitEvent(WebDriver driver, String kind, String text, Duration timeout, Duration quiet) {
+        try {
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(
+                AWAIT_SCRIPT, kind, text, timeout.toMillis(), quiet.toMillis());
+            return Boolean.TRUE.equals(result);
+        } catch (ScriptTimeoutException e) {
+            return false;
+        }
+    }
+}
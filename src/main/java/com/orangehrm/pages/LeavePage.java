@@ -1,6 +1,7 @@
 package com.orangehrm.pages;
 
 import com.orangehrm.base.BasePage;
+import com.orangehrm.base.CandidateLocator;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
@@ -9,69 +10,72 @@ import org.openqa.selenium.WebDriver;
  * Handles UC02 test cases - Leave application and approval workflow.
  */
 public class LeavePage extends BasePage {
+
+    // Route of the Apply Leave form, relative to the /web/ root
+    public static final String APPLY_ROUTE = "index.php/leave/applyLeave";
     
     // Candidate navigation locators
-    private final By[] LEAVE_MENU_CANDIDATES = new By[] {
+    private static final CandidateLocator LEAVE_MENU_CANDIDATES = CandidateLocator.of("LeavePage.LEAVE_MENU",
         By.id("menu_leave_viewLeaveModule"),
         By.linkText("Leave"),
         By.xpath("//a[contains(text(),'Leave')]"),
         By.cssSelector("a[href*='leave']"),
         By.xpath("//span[text()='Leave']/parent::a")
-    };
+    );
     
-    private final By[] APPLY_BUTTON_CANDIDATES = new By[] {
+    private static final CandidateLocator APPLY_BUTTON_CANDIDATES = CandidateLocator.of("LeavePage.APPLY_BUTTON",
         By.linkText("Apply"),
         By.xpath("//a[contains(text(),'Apply')]"),
         By.cssSelector("a[href*='applyLeave']"),
         By.xpath("//span[text()='Apply']")
-    };
+    );
     
-    private final By[] LEAVE_LIST_MENU_CANDIDATES = new By[] {
+    private static final CandidateLocator LEAVE_LIST_MENU_CANDIDATES = CandidateLocator.of("LeavePage.LEAVE_LIST_MENU",
         By.linkText("Leave List"),
         By.xpath("//a[contains(text(),'Leave List')]"),
         By.cssSelector("a[href*='leaveList']")
-    };
+    );
     
     // Leave Application Form - Candidate Locators (MODERN UI)
-    private final By[] LEAVE_TYPE_DROPDOWN_CANDIDATES = new By[] {
+    private static final CandidateLocator LEAVE_TYPE_DROPDOWN_CANDIDATES = CandidateLocator.of("LeavePage.LEAVE_TYPE_DROPDOWN",
         By.xpath("//label[text()='Leave Type']/parent::div/following-sibling::div//div[contains(@class,'oxd-select-text')]"),
         By.xpath("//label[contains(text(),'Leave Type')]/following::div[contains(@class,'oxd-select-text')][1]"),
         By.cssSelector("div.oxd-select-text"),
         By.id("applyleave_txtLeaveType"), // Old UI fallback
         By.name("leaveType")
-    };
+    );
     
-    private final By[] FROM_DATE_FIELD_CANDIDATES = new By[] {
+    private static final CandidateLocator FROM_DATE_FIELD_CANDIDATES = CandidateLocator.of("LeavePage.FROM_DATE_FIELD",
         By.xpath("//label[text()='From Date']/parent::div/following-sibling::div//input"),
         By.xpath("//label[contains(text(),'From')]/following::input[1]"),
         By.cssSelector("input[placeholder*='yyyy-mm-dd']"),
         By.id("applyleave_txtFromDate"), // Old UI fallback
         By.name("fromDate")
-    };
+    );
     
-    private final By[] TO_DATE_FIELD_CANDIDATES = new By[] {
+    private static final CandidateLocator TO_DATE_FIELD_CANDIDATES = CandidateLocator.of("LeavePage.TO_DATE_FIELD",
         By.xpath("//label[text()='To Date']/parent::div/following-sibling::div//input"),
         By.xpath("//label[contains(text(),'To')]/following::input[1]"),
         By.cssSelector("input[placeholder*='yyyy-mm-dd']"),
         By.id("applyleave_txtToDate"), // Old UI fallback
         By.name("toDate")
-    };
+    );
     
-    private final By[] COMMENT_FIELD_CANDIDATES = new By[] {
+    private static final CandidateLocator COMMENT_FIELD_CANDIDATES = CandidateLocator.of("LeavePage.COMMENT_FIELD",
         By.xpath("//label[text()='Comments']/parent::div/following-sibling::div//textarea"),
         By.xpath("//label[contains(text(),'Comment')]/following::textarea[1]"),
         By.cssSelector("textarea.oxd-textarea"),
         By.id("applyleave_txtComment"), // Old UI fallback
         By.name("comment")
-    };
+    );
     
-    private final By[] APPLY_SUBMIT_BUTTON_CANDIDATES = new By[] {
+    private static final CandidateLocator APPLY_SUBMIT_BUTTON_CANDIDATES = CandidateLocator.of("LeavePage.APPLY_SUBMIT_BUTTON",
         By.xpath("//button[@type='submit' and contains(text(),'Apply')]"),
         By.xpath("//button[contains(@class,'oxd-button') and contains(text(),'Apply')]"),
         By.cssSelector("button[type='submit']"),
         By.id("applyBtn"), // Old UI fallback
         By.xpath("//input[@type='submit' and @value='Apply']")
-    };
+    );
     
     // Leave Balance Display
     // Số dư hiện ra (VD: 10.00 Day(s)) sau khi chọn loại nghỉ phép. Class này đặc thù cho balance text.
@@ -105,25 +109,6 @@ public class LeavePage extends BasePage {
         super(driver);
     }
 
-    // Find first visible locator from candidates
-    private By findFirstVisible(By[] candidates) {
-        for (By locator : candidates) {
-            try {
-                java.util.List<org.openqa.selenium.WebElement> elems = driver.findElements(locator);
-                if (elems != null && !elems.isEmpty()) {
-                    for (org.openqa.selenium.WebElement e : elems) {
-                        try {
-                            if (e.isDisplayed()) {
-                                return locator;
-                            }
-                        } catch (Exception ignored) {}
-                    }
-                }
-            } catch (Exception ignored) {}
-        }
-        return candidates[0];
-    }
-
     /**
      * Navigate to Leave menu
      */
@@ -195,6 +180,7 @@ public class LeavePage extends BasePage {
      */
     public void submitLeaveApplication() {
         By loc = findFirstVisible(APPLY_SUBMIT_BUTTON_CANDIDATES);
+        startUiEventCapture();
         clickElement(loc);
     }
 
@@ -229,7 +215,7 @@ public class LeavePage extends BasePage {
      * @return true if success message appears
      */
     public boolean isSuccessMessageDisplayed() {
-        return isElementDisplayed(successMessage);
+        return awaitUiEvent("toast-success", null);
     }
 
     /**
@@ -247,7 +233,7 @@ public class LeavePage extends BasePage {
      * @return true if error message appears
      */
     public boolean isErrorMessageDisplayed() {
-        return isElementDisplayed(errorMessage);
+        return awaitUiEvent("toast-error", null);
     }
 
     /**
@@ -265,7 +251,7 @@ public class LeavePage extends BasePage {
      * @return true if balance error appears
      */
     public boolean isBalanceErrorDisplayed() {
-        return isElementDisplayed(balanceErrorMessage);
+        return awaitUiEvent("toast", "Balance not sufficient");
     }
 
     /**
@@ -283,7 +269,7 @@ public class LeavePage extends BasePage {
      * @return true if date range error appears
      */
     public boolean isDateRangeErrorDisplayed() {
-        return isElementDisplayed(dateRangeErrorMessage);
+        return awaitUiEvent("validation", "To date should be after");
     }
 
     /**
@@ -301,7 +287,7 @@ public class LeavePage extends BasePage {
      * @return true if past date error appears
      */
     public boolean isPastDateErrorDisplayed() {
-        return isElementDisplayed(pastDateErrorMessage);
+        return awaitUiEvent("validation", "date");
     }
 
     /**
@@ -319,7 +305,7 @@ public class LeavePage extends BasePage {
      * @return true if overlap error appears
      */
     public boolean isOverlapErrorDisplayed() {
-        return isElementDisplayed(overlapErrorMessage);
+        return awaitUiEvent("toast", "Overlap");
     }
 
     /**
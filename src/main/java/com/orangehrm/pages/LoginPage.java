@@ -1,64 +1,63 @@
 package com.orangehrm.pages;
 
 import com.orangehrm.base.BasePage;
+import com.orangehrm.base.CandidateLocator;
+import com.orangehrm.base.LearnedWait;
+import com.orangehrm.base.SessionSnapshot;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Page Object for OrangeHRM Login Page.
  * Handles login functionality.
+ *
+ * Session-snapshot mode (default on, disable with -Dsession.reuse=false): after the first
+ * successful UI login per user, cookies and storage are captured and injected into later
+ * sessions, which then open their target route directly.
  */
 public class LoginPage extends BasePage {
     
         // Candidate locators for the login form (try each until one is found)
-        private final By[] USERNAME_CANDIDATES = new By[] {
+        private static final CandidateLocator USERNAME_CANDIDATES = CandidateLocator.of("LoginPage.USERNAME",
             By.id("txtUsername"),
             By.id("username"),
             By.name("username"),
             By.cssSelector("input[type='text'][name='username']"),
             By.cssSelector("input[type='text']")
-        };
+        );
 
-        private final By[] PASSWORD_CANDIDATES = new By[] {
+        private static final CandidateLocator PASSWORD_CANDIDATES = CandidateLocator.of("LoginPage.PASSWORD",
             By.id("txtPassword"),
             By.id("password"),
             By.name("password"),
             By.cssSelector("input[type='password']")
-        };
+        );
 
-        private final By[] LOGIN_BUTTON_CANDIDATES = new By[] {
+        private static final CandidateLocator LOGIN_BUTTON_CANDIDATES = CandidateLocator.of("LoginPage.LOGIN_BUTTON",
             By.id("btnLogin"),
             By.cssSelector("button[type='submit']"),
             By.xpath("//button[contains(., 'Login') or contains(., 'Log In')]")
-        };
+        );
 
-        private final By[] ERROR_CANDIDATES = new By[] {
+        private static final CandidateLocator ERROR_CANDIDATES = CandidateLocator.of("LoginPage.ERROR",
             By.cssSelector("div.alert, div.message, div.error"),
             By.xpath("//p[contains(@class,'error') or contains(@class,'message')]")
-        };
+        );
     
+    // Captured authenticated sessions, keyed by username + application origin
+    private static final String LOGIN_ROUTE = "index.php/auth/login";
+    private static final Map<String, SessionSnapshot> SESSION_SNAPSHOTS = new ConcurrentHashMap<>();
+    private static final boolean SESSION_REUSE = Boolean.parseBoolean(System.getProperty("session.reuse", "true"));
+    private static final int LOGIN_REDIRECT_TIMEOUT = 3;
+
+    // Short wait for the redirect after submitting the form
+    private final LearnedWait loginWait;
+
     public LoginPage(WebDriver driver) {
         super(driver);
-    }
-
-    // Find first candidate locator that exists and is displayed (no explicit wait)
-    private By findFirstVisible(By[] candidates) {
-        for (By locator : candidates) {
-            try {
-                java.util.List<org.openqa.selenium.WebElement> elems = driver.findElements(locator);
-                if (elems != null && !elems.isEmpty()) {
-                    for (org.openqa.selenium.WebElement e : elems) {
-                        try {
-                            if (e.isDisplayed()) {
-                                return locator;
-                            }
-                        } catch (Exception ignored) {}
-                    }
-                }
-            } catch (Exception ignored) {}
-        }
-        // fallback - return first candidate so BasePage's waits will throw clear error
-        return candidates[0];
+        this.loginWait = timeouts.explicitWait("LoginPage.login", java.time.Duration.ofSeconds(LOGIN_REDIRECT_TIMEOUT));
     }
 
     /**
@@ -77,6 +76,75 @@ public class LoginPage extends BasePage {
         clickElement(btn);
     }
 
+    /**
+     * Log in and open the given route, reusing a captured session for this user when possible.
+     * Falls back to the UI login if there is no snapshot yet or the snapshot is rejected.
+     *
+     * @param username Employee username
+     * @param password Employee password
+     * @param route Route relative to the /web/ root (e.g. "index.php/pim/viewMyDetails")
+     * @return true if the user ends up logged in on the target route
+     */
+    public boolean loginWithSessionReuse(String username, String password, String route) {
+        String appRoot = getAppRoot();
+        String key = username + "@" + appRoot;
+
+        SessionSnapshot snapshot = SESSION_REUSE ? SESSION_SNAPSHOTS.get(key) : null;
+        if (snapshot != null) {
+            if (snapshot.restore(driver)) {
+                driver.get(appRoot + route);
+                if (!isOnLoginPage()) {
+                    return true;
+                }
+                driver.manage().deleteAllCookies();
+            }
+            // Snapshot could not be injected, or the session expired - forget it and log in through the UI
+            SESSION_SNAPSHOTS.remove(key, snapshot);
+            driver.get(appRoot + LOGIN_ROUTE);
+        }
+
+        login(username, password);
+        if (!awaitLoggedIn()) {
+            return false;
+        }
+        if (SESSION_REUSE) {
+            SESSION_SNAPSHOTS.put(key, SessionSnapshot.capture(driver));
+        }
+        driver.get(appRoot + route);
+        return !isOnLoginPage();
+    }
+
+    private boolean isOnLoginPage() {
+        return driver.getCurrentUrl().contains("/auth/login");
+    }
+
+    /**
+     * Wait until the login POST has redirected away from the login page.
+     * The session is only worth capturing (and the next navigation only safe) once the
+     * app has left /auth/login; a failed login never does.
+     */
+    private boolean awaitLoggedIn() {
+        try {
+            loginWait.until("login redirect", driver -> !isOnLoginPage());
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Application root up to and including "/web/" (falls back to the origin)
+     */
+    private String getAppRoot() {
+        String currentUrl = driver.getCurrentUrl();
+        int web = currentUrl.indexOf("/web/");
+        if (web >= 0) {
+            return currentUrl.substring(0, web + 5);
+        }
+        int pathStart = currentUrl.indexOf('/', currentUrl.indexOf("://") + 3);
+        return (pathStart < 0 ? currentUrl : currentUrl.substring(0, pathStart)) + "/web/";
+    }
+
     /**
      * Check if login was successful by verifying URL change or dashboard element
      * 
@@ -84,10 +152,8 @@ public class LoginPage extends BasePage {
      */
     public boolean isLoginSuccessful() {
         try {
-            // Wait for URL to change (max 3 seconds)
-            org.openqa.selenium.support.ui.WebDriverWait shortWait = 
-                new org.openqa.selenium.support.ui.WebDriverWait(driver, java.time.Duration.ofSeconds(3));
-            shortWait.until(driver -> 
+            // Wait for URL to change (learned timeout, 3 seconds until enough logins were observed)
+            loginWait.until("login redirect", driver -> 
                 driver.getCurrentUrl().contains("dashboard") || 
                 driver.getCurrentUrl().contains("index") ||
                 driver.getCurrentUrl().contains("viewMyDetails") ||
@@ -1,130 +1,137 @@
 package com.orangehrm.pages;
 
 import com.orangehrm.base.BasePage;
+import com.orangehrm.base.CandidateLocator;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Page Object for OrangeHRM My Info / Personal Details Page.
  * Handles UC01 test cases - Employee personal information management.
  */
 public class MyInfoPage extends BasePage {
+
+    // Route of the current user's personal details, relative to the /web/ root
+    public static final String ROUTE = "index.php/pim/viewMyDetails";
     
     // Candidate navigation locators - OrangeHRM modern UI
-    private final By[] MY_INFO_MENU_CANDIDATES = new By[] {
+    private static final CandidateLocator MY_INFO_MENU_CANDIDATES = CandidateLocator.of("MyInfoPage.MY_INFO_MENU",
         By.xpath("//span[text()='My Info']/parent::a"),
         By.xpath("//a[contains(@href,'viewMyDetails')]"),
         By.id("menu_pim_viewMyDetails"),
         By.linkText("My Info"),
         By.xpath("//a[contains(text(),'My Info')]"),
         By.cssSelector("a[href*='viewMyDetails']")
-    };
+    );
     
-    private final By[] PERSONAL_DETAILS_TAB_CANDIDATES = new By[] {
+    private static final CandidateLocator PERSONAL_DETAILS_TAB_CANDIDATES = CandidateLocator.of("MyInfoPage.PERSONAL_DETAILS_TAB",
         By.linkText("Personal Details"),
         By.xpath("//a[contains(text(),'Personal Details')]"),
         By.cssSelector("a[href*='personalDetails']"),
         By.xpath("//span[text()='Personal Details']")
-    };
+    );
     
     // Personal Details Section - Form Field Candidates (optimized - fewer candidates)
-    private final By[] FIRST_NAME_CANDIDATES = new By[] {
+    private static final CandidateLocator FIRST_NAME_CANDIDATES = CandidateLocator.of("MyInfoPage.FIRST_NAME",
         By.name("firstName"),
         By.cssSelector("input[name='firstName']"),
         By.xpath("//input[@name='firstName']")
-    };
+    );
     
-    private final By[] MIDDLE_NAME_CANDIDATES = new By[] {
+    private static final CandidateLocator MIDDLE_NAME_CANDIDATES = CandidateLocator.of("MyInfoPage.MIDDLE_NAME",
         By.id("middleName"),
         By.name("middleName"),
         By.xpath("//input[@name='middleName']"),
         By.cssSelector("input[name='middleName']")
-    };
+    );
     
-    private final By[] LAST_NAME_CANDIDATES = new By[] {
+    private static final CandidateLocator LAST_NAME_CANDIDATES = CandidateLocator.of("MyInfoPage.LAST_NAME",
         By.name("lastName"),
         By.cssSelector("input[name='lastName']"),
         By.xpath("//input[@name='lastName']")
-    };
+    );
     
-    private final By[] EMPLOYEE_ID_CANDIDATES = new By[] {
+    private static final CandidateLocator EMPLOYEE_ID_CANDIDATES = CandidateLocator.of("MyInfoPage.EMPLOYEE_ID",
         By.xpath("//label[text()='Employee Id']/following::input[1]"),
         By.name("employeeId"),
         By.cssSelector("input[name='employeeId']")
-    };
+    );
     
-    private final By[] OTHER_ID_CANDIDATES = new By[] {
+    private static final CandidateLocator OTHER_ID_CANDIDATES = CandidateLocator.of("MyInfoPage.OTHER_ID",
         By.xpath("//label[text()='Other Id']/following::input[1]"),
         By.id("otherId"),
         By.name("otherId"),
         By.xpath("//input[@name='otherId']"),
         By.cssSelector("input[name='otherId']")
-    };
+    );
     
     // Driver's License Section
-    private final By[] LICENSE_NUMBER_CANDIDATES = new By[] {
+    private static final CandidateLocator LICENSE_NUMBER_CANDIDATES = CandidateLocator.of("MyInfoPage.LICENSE_NUMBER",
         By.xpath("//label[text()=\"Driver's License Number\"]/following::input[1]"),
         By.id("personal_licenNo"),
         By.name("licenseNo"),
         By.xpath("//input[@name='licenseNo']"),
         By.cssSelector("input[name='licenseNo']"),
         By.xpath("//input[contains(@id,'licen')]")
-    };
+    );
     
-    private final By[] LICENSE_EXPIRY_CANDIDATES = new By[] {
+    private static final CandidateLocator LICENSE_EXPIRY_CANDIDATES = CandidateLocator.of("MyInfoPage.LICENSE_EXPIRY",
         By.cssSelector("input[placeholder='yyyy-mm-dd']"),
         By.id("personal_licExpDate"),
         By.name("licenseExpiry"),
         By.xpath("//input[@name='licenseExpiry']"),
         By.xpath("//input[contains(@id,'licExpDate')]"),
         By.xpath("//label[contains(text(),'Expiry')]/following::input[1]")
-    };
+    );
     
     // Dropdowns - OrangeHRM sử dụng custom dropdown (không phải <select>)
-    private final By[] NATIONALITY_DROPDOWN_CANDIDATES = new By[] {
+    private static final CandidateLocator NATIONALITY_DROPDOWN_CANDIDATES = CandidateLocator.of("MyInfoPage.NATIONALITY_DROPDOWN",
         By.xpath("//label[text()='Nationality']/following::div[contains(@class,'oxd-select-text')][1]"),
         By.id("personal_cmbNation"),
         By.name("nationality"),
         By.xpath("//select[@name='nationality']"),
         By.cssSelector("select[name='nationality']")
-    };
+    );
     
-    private final By[] MARITAL_STATUS_CANDIDATES = new By[] {
+    private static final CandidateLocator MARITAL_STATUS_CANDIDATES = CandidateLocator.of("MyInfoPage.MARITAL_STATUS",
         By.xpath("//label[text()='Marital Status']/following::div[contains(@class,'oxd-select-text')][1]"),
         By.id("personal_cmbMarital"),
         By.name("maritalStatus"),
         By.xpath("//select[@name='maritalStatus']"),
         By.cssSelector("select[name='maritalStatus']")
-    };
+    );
     
     // Date of Birth
-    private final By[] DOB_FIELD_CANDIDATES = new By[] {
+    private static final CandidateLocator DOB_FIELD_CANDIDATES = CandidateLocator.of("MyInfoPage.DOB_FIELD",
         By.xpath("//label[text()='Date of Birth']/following::input[1]"),
         By.id("personal_DOB"),
         By.name("dob"),
         By.name("dateOfBirth"),
         By.xpath("//input[@name='dob']"),
         By.cssSelector("input[name='dob']")
-    };
+    );
     
 // Gender Radio Buttons - Click vào LABEL thay vì input (input không clickable)
-    private final By[] MALE_RADIO_CANDIDATES = new By[] {
+    private static final CandidateLocator MALE_RADIO_CANDIDATES = CandidateLocator.of("MyInfoPage.MALE_RADIO",
         By.xpath("//label[text()='Male']"),
         By.xpath("//label[text()='Male']/input"),
         By.id("personal_optGender_1"),
         By.xpath("//input[@value='1' and @type='radio']"),
         By.xpath("//input[@type='radio' and @name='gender'][@value='1']")
-    };
+    );
 
-    private final By[] FEMALE_RADIO_CANDIDATES = new By[] {
+    private static final CandidateLocator FEMALE_RADIO_CANDIDATES = CandidateLocator.of("MyInfoPage.FEMALE_RADIO",
         By.xpath("//label[text()='Female']"),
         By.xpath("//label[text()='Female']/input"),
         By.id("personal_optGender_2"),
         By.xpath("//input[@value='2' and @type='radio']"),
         By.xpath("//input[@type='radio' and @name='gender'][@value='2']")
-    };
+    );
     
-    private final By[] SAVE_BUTTON_CANDIDATES = new By[] {
+    private static final CandidateLocator SAVE_BUTTON_CANDIDATES = CandidateLocator.of("MyInfoPage.SAVE_BUTTON",
         By.id("btnSave"),
         By.xpath("//input[@id='btnSave']"),
         By.xpath("//input[@type='button' and @value='Save']"),
@@ -132,7 +139,7 @@ public class MyInfoPage extends BasePage {
         By.xpath("//button[text()='Save']"),
         By.xpath("//button[contains(@class,'save')]"),
         By.xpath("(//button[@type='submit'])[1]")
-    };
+    );
     
     // Buttons and Messages
     // Nút Save trong OrangeHRM thường là nút submit trong form
@@ -143,31 +150,42 @@ public class MyInfoPage extends BasePage {
 
     // Thông báo màu đỏ hiện ra ở góc phải
     private final By errorMessage = By.cssSelector("div.oxd-toast--error");
-
-    // Dòng chữ đỏ "Required" xuất hiện ngay dưới ô input khi bỏ trống
-    private final By requiredFieldError = By.xpath("//span[contains(@class, 'oxd-input-group__message') and text()='Required']");
     
-    public MyInfoPage(WebDriver driver) {
-        super(driver);
-    }
+    /**
+     * Text inputs of the Personal Details form
+     */
+    public enum Field {
+        FIRST_NAME(FIRST_NAME_CANDIDATES),
+        MIDDLE_NAME(MIDDLE_NAME_CANDIDATES),
+        LAST_NAME(LAST_NAME_CANDIDATES),
+        EMPLOYEE_ID(EMPLOYEE_ID_CANDIDATES),
+        OTHER_ID(OTHER_ID_CANDIDATES),
+        LICENSE_NUMBER(LICENSE_NUMBER_CANDIDATES),
+        LICENSE_EXPIRY(LICENSE_EXPIRY_CANDIDATES),
+        DATE_OF_BIRTH(DOB_FIELD_CANDIDATES);
+
+        private final CandidateLocator locator;
+
+        Field(CandidateLocator locator) {
+            this.locator = locator;
+        }
 
-    // Find first visible locator from candidates
-    private By findFirstVisible(By[] candidates) {
-        for (By locator : candidates) {
-            try {
-                java.util.List<org.openqa.selenium.WebElement> elems = driver.findElements(locator);
-                if (elems != null && !elems.isEmpty()) {
-                    for (org.openqa.selenium.WebElement e : elems) {
-                        try {
-                            if (e.isDisplayed()) {
-                                return locator;
-                            }
-                        } catch (Exception ignored) {}
-                    }
+        /**
+         * Field by camelCase or enum name, e.g. "firstName" or "FIRST_NAME"
+         */
+        public static Field fromName(String name) {
+            String key = name.replace("_", "");
+            for (Field field : values()) {
+                if (field.name().replace("_", "").equalsIgnoreCase(key)) {
+                    return field;
                 }
-            } catch (Exception ignored) {}
+            }
+            throw new IllegalArgumentException("Unknown My Info field: " + name);
         }
-        return candidates[0];
+    }
+
+    public MyInfoPage(WebDriver driver) {
+        super(driver);
     }
 
     /**
@@ -181,7 +199,7 @@ public class MyInfoPage extends BasePage {
             // Nếu click menu thất bại, navigate trực tiếp bằng URL
             String currentUrl = driver.getCurrentUrl();
             String baseUrl = currentUrl.substring(0, currentUrl.indexOf("/web/") + 5);
-            driver.get(baseUrl + "index.php/pim/viewMyDetails");
+            driver.get(baseUrl + ROUTE);
         }
     }
 
@@ -220,6 +238,66 @@ public class MyInfoPage extends BasePage {
         }
     }
 
+    /**
+     * Type a value into a Personal Details field (replacing its content)
+     */
+    public void updateField(Field field, String value) {
+        By loc = findFirstVisible(field.locator);
+        sendKeys(loc, value);
+    }
+
+    /**
+     * Clear a Personal Details field
+     */
+    public void clearField(Field field) {
+        By loc = findFirstVisible(field.locator);
+        clearField(loc);
+    }
+
+    /**
+     * Get the current value of a Personal Details field
+     */
+    public String getFieldValue(Field field) {
+        By loc = findFirstVisible(field.locator);
+        return getAttribute(loc, "value");
+    }
+
+    /**
+     * Fast fill: set every field of the details with one executeScript call, dispatching the
+     * native input/change events the form listens to. Fields the script cannot set (not visible,
+     * read-only) are typed as usual.
+     * No keys are pressed - use updateField() for cases that test keyboard behavior (e.g. max length).
+     */
+    public void fillPersonalDetails(PersonalDetails details) {
+        if (details.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Field, String>> entries = new ArrayList<>(details.values().entrySet());
+        List<By[]> candidates = new ArrayList<>(entries.size());
+        List<String> values = new ArrayList<>(entries.size());
+        for (Map.Entry<Field, String> entry : entries) {
+            candidates.add(entry.getKey().locator.candidates());
+            values.add(entry.getValue());
+        }
+
+        List<Integer> missed = fillInputs(candidates, values);
+        if (missed == null) {
+            // Script could not run - type every field
+            missed = new ArrayList<>();
+            for (int i = 0; i < entries.size(); i++) {
+                missed.add(i);
+            }
+        }
+        for (int i : missed) {
+            Map.Entry<Field, String> entry = entries.get(i);
+            if (entry.getValue().isEmpty()) {
+                clearField(entry.getKey());
+            } else {
+                updateField(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
     /**
      * Update first name only
      */
@@ -339,6 +417,7 @@ public class MyInfoPage extends BasePage {
      */
     public void clickSave() {
         By loc = findFirstVisible(SAVE_BUTTON_CANDIDATES);
+        startUiEventCapture();
         clickElement(loc);
     }
 
@@ -348,15 +427,8 @@ public class MyInfoPage extends BasePage {
      * @return true if success message appears
      */
     public boolean isSuccessMessageDisplayed() {
-        try {
-            // Wait up to 5 seconds for toast message to appear
-            org.openqa.selenium.support.ui.WebDriverWait longWait = 
-                new org.openqa.selenium.support.ui.WebDriverWait(driver, java.time.Duration.ofSeconds(5));
-            longWait.until(org.openqa.selenium.support.ui.ExpectedConditions.visibilityOfElementLocated(successMessage));
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        // Toast is recorded by the observer even if it already faded out
+        return awaitUiEvent("toast-success", null);
     }
 
     /**
@@ -374,7 +446,7 @@ public class MyInfoPage extends BasePage {
      * @return true if error message appears
      */
     public boolean isErrorMessageDisplayed() {
-        return isElementDisplayed(errorMessage);
+        return awaitUiEvent("toast-error", null);
     }
 
     /**
@@ -392,7 +464,7 @@ public class MyInfoPage extends BasePage {
      * @return true if required error appears
      */
     public boolean isRequiredErrorDisplayed() {
-        return isElementDisplayed(requiredFieldError);
+        return awaitUiEvent("validation", "Required");
     }
 
     /**
@@ -0,0 +1,69 @@
+package com.orangehrm.pages;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Values for the text and date inputs of the Personal Details form, written in one go by
+ * {@link MyInfoPage#fillPersonalDetails(PersonalDetails)}.
+ * Only fields that were set are touched; an empty string clears the input.
+ * Immutable - with() returns a new instance.
+ */
+public final class PersonalDetails {
+
+    private static final PersonalDetails EMPTY = new PersonalDetails(new EnumMap<>(MyInfoPage.Field.class));
+
+    private final EnumMap<MyInfoPage.Field, String> values;
+
+    private PersonalDetails(EnumMap<MyInfoPage.Field, String> values) {
+        this.values = values;
+    }
+
+    /**
+     * Details that leave every field untouched
+     */
+    public static PersonalDetails empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Set a field
+     *
+     * @param value New value, "" to clear the field
+     */
+    public PersonalDetails with(MyInfoPage.Field field, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value of " + field + " must not be null (use \"\" to clear)");
+        }
+        EnumMap<MyInfoPage.Field, String> copy = new EnumMap<>(values);
+        copy.put(field, value);
+        return new PersonalDetails(copy);
+    }
+
+    /**
+     * Fields to write and their values, in form order
+     */
+    public Map<MyInfoPage.Field, String> values() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PersonalDetails other && values.equals(other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return values.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "PersonalDetails" + values;
+    }
+}
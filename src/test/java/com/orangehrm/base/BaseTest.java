@@ -1,17 +1,15 @@
 package com.orangehrm.base;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.edge.EdgeOptions;
-import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.firefox.FirefoxOptions;
-import org.openqa.selenium.remote.RemoteWebDriver;
+import org.testng.ITestResult;
+import org.testng.Reporter;
 import org.testng.annotations.*;
-import java.net.URL;
-import java.time.Duration;
+import org.testng.xml.XmlTest;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Base Test class containing setup and teardown methods.
@@ -20,14 +18,39 @@ import java.time.Duration;
  * 
  * To run with Docker Selenium containers:
  * mvn test -Dbrowser=chrome -Dremote=true
+ *
+ * Browser sessions are leased from DriverPool and returned after each class;
+ * pre-launch sessions at suite start with -Ddriver.pool.size=N.
+ *
+ * Each thread owns its own session: getDriver() leases one the first time a thread asks,
+ * so rows of parallel data providers (data-provider-thread-count in testng.xml) never share
+ * a browser. Threads that are done with their browser hand it back with releaseDriver().
  */
 public class BaseTest {
-    protected WebDriver driver;
-    // Default URLs: local vs containerized browsers
-    private final String DEFAULT_LOCAL_URL = "http://localhost:8080/";
-    private final String DEFAULT_REMOTE_URL = "http://host.docker.internal:8080/";
+    protected WebDriver driver; // session of the thread that ran @BeforeClass
     protected String baseUrl; // will be set at runtime (can be overridden with -Dapp.url)
-    
+
+    private String browser;
+    private final ThreadLocal<WebDriver> threadDriver = new ThreadLocal<>();
+    private final Set<WebDriver> leasedDrivers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Pre-launch pooled browser sessions for every enabled <test> browser (-Ddriver.pool.size=N)
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void warmUpDriverPool() {
+        // TestNG does not inject ITestContext into @BeforeSuite methods
+        ITestResult current = Reporter.getCurrentTestResult();
+        if (current == null) {
+            return;
+        }
+        Set<String> browsers = new LinkedHashSet<>();
+        for (XmlTest test : current.getTestContext().getSuite().getXmlSuite().getTests()) {
+            browsers.add(test.getParameter("browser") != null ? test.getParameter("browser").toLowerCase() : "chrome");
+        }
+        DriverPool.getInstance().prewarm(browsers, DriverPool.configuredSize());
+    }
+
     @BeforeClass
     @Parameters({"browser"})
     public void setUp(@Optional("chrome") String browser) {
@@ -50,144 +73,113 @@ public class BaseTest {
             // Silently continue if charset override fails
         }
         
-        driver = initializeDriver(browser);
-        driver.manage().window().maximize();
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(1)); // Reduced to 1s for maximum speed
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(10)); // Reduced to 10s
-        driver.get(baseUrl);
+        this.browser = browser;
+        baseUrl = DriverFactory.resolveBaseUrl();
+        driver = getDriver();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        // Return every session of this class to the pool; they are reset and reused by the next class
+        for (WebDriver leased : List.copyOf(leasedDrivers)) {
+            DriverPool.getInstance().release(leased);
+        }
+        leasedDrivers.clear();
+        threadDriver.remove();
+        driver = null;
     }
 
     /**
-     * Initialize WebDriver based on browser parameter.
-     * Supports Chrome, Firefox, and Edge browsers.
-     * Supports both local and remote (Docker) execution.
-     * 
-     * @param browser Browser name (chrome/firefox/edge)
-     * @return WebDriver instance
+     * Quit all pooled browser sessions at the end of the suite
      */
-    private WebDriver initializeDriver(String browser) {
-        // Check if remote execution is requested
-        String remote = System.getProperty("remote", "false");
-        boolean isRemote = Boolean.parseBoolean(remote);
-
-        // Allow overriding application URL via -Dapp.url
-        String appUrlProp = System.getProperty("app.url", "");
-        if (appUrlProp != null && !appUrlProp.isBlank()) {
-            baseUrl = appUrlProp;
-        } else {
-            baseUrl = isRemote ? DEFAULT_REMOTE_URL : DEFAULT_LOCAL_URL;
-        }
+    @AfterSuite(alwaysRun = true)
+    public void shutDownDriverPool() {
+        DriverPool.getInstance().shutdown();
+    }
 
-        if (isRemote) {
-            return initializeRemoteDriver(browser);
-        } else {
-            return initializeLocalDriver(browser);
+    /**
+     * Dump candidate locator hit-rate, learned click strategy and wait time-to-satisfy statistics
+     * at the end of the run (console + target/candidate-locator-stats.csv, click-strategy-stats.csv,
+     * wait-stats.csv) so dead candidates can be pruned
+     */
+    @AfterSuite(alwaysRun = true)
+    public void reportLocatorStatistics() {
+        CandidateLocator.printStatistics();
+        ClickStrategy.printStatistics();
+        AdaptiveWait.printStatistics();
+        try {
+            CandidateLocator.writeStatistics(Path.of("target", "candidate-locator-stats.csv"));
+            ClickStrategy.writeStatistics(Path.of("target", "click-strategy-stats.csv"));
+            AdaptiveWait.writeStatistics(Path.of("target", "wait-stats.csv"));
+        } catch (Exception e) {
+            System.out.println("Warning: Could not write locator statistics - " + e.getMessage());
         }
     }
-    
+
     /**
-     * Initialize local WebDriver (browser installed on machine)
+     * Export WebDriver command latency histograms
+     * (target/webdriver-commands.json and target/webdriver-commands.prom for Prometheus)
      */
-    private WebDriver initializeLocalDriver(String browser) {
-        WebDriver driver;
-        
-        switch (browser.toLowerCase()) {
-            case "chrome":
-                WebDriverManager.chromedriver().setup();
-                ChromeOptions chromeOptions = new ChromeOptions();
-                chromeOptions.addArguments("--start-maximized");
-                chromeOptions.addArguments("--disable-notifications");
-                chromeOptions.addArguments("--disable-popup-blocking");
-                driver = new ChromeDriver(chromeOptions);
-                break;
-                
-            case "firefox":
-                WebDriverManager.firefoxdriver().setup();
-                FirefoxOptions firefoxOptions = new FirefoxOptions();
-                firefoxOptions.addArguments("--start-maximized");
-                firefoxOptions.addPreference("dom.webnotifications.enabled", false);
-                driver = new FirefoxDriver(firefoxOptions);
-                break;
-                
-            case "edge":
-                WebDriverManager.edgedriver().setup();
-                EdgeOptions edgeOptions = new EdgeOptions();
-                edgeOptions.addArguments("--start-maximized");
-                edgeOptions.addArguments("--disable-notifications");
-                driver = new EdgeDriver(edgeOptions);
-                break;
-                
-            default:
-                throw new IllegalArgumentException("Browser " + browser + " is not supported. Use chrome, firefox, or edge.");
+    @AfterSuite(alwaysRun = true)
+    public void reportCommandMetrics() {
+        CommandMetrics.printStatistics(15);
+        try {
+            CommandMetrics.writeJson(Path.of("target", "webdriver-commands.json"));
+            CommandMetrics.writePrometheus(Path.of("target", "webdriver-commands.prom"));
+        } catch (Exception e) {
+            System.out.println("Warning: Could not write command metrics - " + e.getMessage());
         }
-        
-        return driver;
     }
-    
+
     /**
-     * Initialize RemoteWebDriver (browser in Docker container)
-     * Chrome: http://localhost:4444/wd/hub
-     * Firefox: http://localhost:4445/wd/hub
-     * Edge: http://localhost:4446/wd/hub
+     * Print the learned timeouts and save their latency profile for the next run
      */
-    private WebDriver initializeRemoteDriver(String browser) {
+    @AfterSuite(alwaysRun = true)
+    public void saveTimeoutProfile() {
+        TimeoutController.getDefault().printStatistics();
         try {
-            URL remoteUrl;
-            
-            switch (browser.toLowerCase()) {
-                case "chrome":
-                    remoteUrl = new URL("http://localhost:4444/wd/hub");
-                    ChromeOptions chromeOptions = new ChromeOptions();
-                    chromeOptions.addArguments("--disable-notifications");
-                    chromeOptions.addArguments("--disable-popup-blocking");
-                    chromeOptions.addArguments("--no-sandbox");
-                    chromeOptions.addArguments("--disable-dev-shm-usage");
-                    // Add headless mode if requested via -Dheadless=true
-                    if (Boolean.parseBoolean(System.getProperty("headless", "false"))) {
-                        chromeOptions.addArguments("--headless=new");
-                        chromeOptions.addArguments("--disable-gpu");
-                    }
-                    return new RemoteWebDriver(remoteUrl, chromeOptions);
-                    
-                case "firefox":
-                    remoteUrl = new URL("http://localhost:4445/wd/hub");
-                    FirefoxOptions firefoxOptions = new FirefoxOptions();
-                    firefoxOptions.addPreference("dom.webnotifications.enabled", false);
-                    if (Boolean.parseBoolean(System.getProperty("headless", "false"))) {
-                        firefoxOptions.addArguments("--headless");
-                    }
-                    return new RemoteWebDriver(remoteUrl, firefoxOptions);
-                    
-                case "edge":
-                    remoteUrl = new URL("http://localhost:4446/wd/hub");
-                    EdgeOptions edgeOptions = new EdgeOptions();
-                    edgeOptions.addArguments("--disable-notifications");
-                    edgeOptions.addArguments("--no-sandbox");
-                    edgeOptions.addArguments("--disable-dev-shm-usage");
-                    if (Boolean.parseBoolean(System.getProperty("headless", "false"))) {
-                        edgeOptions.addArguments("--headless=new");
-                    }
-                    return new RemoteWebDriver(remoteUrl, edgeOptions);
-                    
-                default:
-                    throw new IllegalArgumentException("Browser " + browser + " is not supported. Use chrome, firefox, or edge.");
-            }
+            TimeoutController.getDefault().save();
         } catch (Exception e) {
-            throw new RuntimeException("Failed to initialize RemoteWebDriver: " + e.getMessage(), e);
+            System.out.println("Warning: Could not save timeout profile - " + e.getMessage());
         }
     }
 
-    @AfterClass
-    public void tearDown() {
-        if (driver != null) {
-            driver.quit();
+    /**
+     * Get the WebDriver owned by the current thread, leasing and opening a new session
+     * the first time the thread asks
+     */
+    protected WebDriver getDriver() {
+        WebDriver current = threadDriver.get();
+        if (current == null || !leasedDrivers.contains(current)) {
+            current = openSession();
+            threadDriver.set(current);
         }
+        return current;
     }
 
     /**
-     * Get current WebDriver instance
+     * Return the current thread's session to the pool before the class ends,
+     * e.g. after @BeforeClass setup that the data provider workers do not need
      */
-    protected WebDriver getDriver() {
-        return driver;
+    protected void releaseDriver() {
+        WebDriver current = threadDriver.get();
+        threadDriver.remove();
+        if (current != null && leasedDrivers.remove(current)) {
+            DriverPool.getInstance().release(current);
+        }
+        if (driver == current) {
+            driver = null;
+        }
+    }
+
+    private WebDriver openSession() {
+        WebDriver session = DriverPool.getInstance().lease(browser != null ? browser : "chrome");
+        leasedDrivers.add(session);
+        session.manage().window().maximize();
+        // Implicit wait (1s, probes drop it to 0), learned page load timeout and script timeout
+        TimeoutPolicy timeouts = TimeoutPolicy.forSession(session);
+        timeouts.apply();
+        timeouts.load(baseUrl);
+        return session;
     }
 }
@@ -0,0 +1,174 @@
+package com.orangehrm.base;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import java.net.URL;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates WebDriver sessions for local browsers and the Docker Selenium Grid.
+ * Shared by BaseTest and DriverPool so pooled and per-class sessions are configured identically.
+ */
+public class DriverFactory {
+    // Default URLs: local vs containerized browsers
+    private static final String DEFAULT_LOCAL_URL = "http://localhost:8080/";
+    private static final String DEFAULT_REMOTE_URL = "http://host.docker.internal:8080/";
+
+    // Browsers whose driver binary WebDriverManager already resolved in this JVM
+    private static final Set<String> RESOLVED_BINARIES = ConcurrentHashMap.newKeySet();
+
+    private DriverFactory() {
+    }
+
+    /**
+     * Check if remote execution is requested via -Dremote=true
+     */
+    public static boolean isRemote() {
+        return Boolean.parseBoolean(System.getProperty("remote", "false"));
+    }
+
+    /**
+     * Application URL: -Dapp.url if set, otherwise the default for local or remote execution
+     */
+    public static String resolveBaseUrl() {
+        String appUrlProp = System.getProperty("app.url", "");
+        if (appUrlProp != null && !appUrlProp.isBlank()) {
+            return appUrlProp;
+        }
+        return isRemote() ? DEFAULT_REMOTE_URL : DEFAULT_LOCAL_URL;
+    }
+
+    /**
+     * Initialize WebDriver based on browser parameter.
+     * Supports Chrome, Firefox, and Edge browsers.
+     * Supports both local and remote (Docker) execution.
+     * 
+     * @param browser Browser name (chrome/firefox/edge)
+     * @return WebDriver instance
+     */
+    public static WebDriver initializeDriver(String browser) {
+        if (isRemote()) {
+            return initializeRemoteDriver(browser);
+        } else {
+            return initializeLocalDriver(browser);
+        }
+    }
+    
+    /**
+     * Initialize local WebDriver (browser installed on machine)
+     */
+    private static WebDriver initializeLocalDriver(String browser) {
+        WebDriver driver;
+        
+        switch (browser.toLowerCase()) {
+            case "chrome":
+                setupDriverBinary("chrome");
+                ChromeOptions chromeOptions = new ChromeOptions();
+                chromeOptions.addArguments("--start-maximized");
+                chromeOptions.addArguments("--disable-notifications");
+                chromeOptions.addArguments("--disable-popup-blocking");
+                driver = new ChromeDriver(chromeOptions);
+                break;
+                
+            case "firefox":
+                setupDriverBinary("firefox");
+                FirefoxOptions firefoxOptions = new FirefoxOptions();
+                firefoxOptions.addArguments("--start-maximized");
+                firefoxOptions.addPreference("dom.webnotifications.enabled", false);
+                driver = new FirefoxDriver(firefoxOptions);
+                break;
+                
+            case "edge":
+                setupDriverBinary("edge");
+                EdgeOptions edgeOptions = new EdgeOptions();
+                edgeOptions.addArguments("--start-maximized");
+                edgeOptions.addArguments("--disable-notifications");
+                driver = new EdgeDriver(edgeOptions);
+                break;
+                
+            default:
+                throw new IllegalArgumentException("Browser " + browser + " is not supported. Use chrome, firefox, or edge.");
+        }
+        
+        return driver;
+    }
+    
+    /**
+     * Initialize RemoteWebDriver (browser in Docker container)
+     * Chrome: http://localhost:4444/wd/hub
+     * Firefox: http://localhost:4445/wd/hub
+     * Edge: http://localhost:4446/wd/hub
+     */
+    private static WebDriver initializeRemoteDriver(String browser) {
+        try {
+            URL remoteUrl;
+            
+            switch (browser.toLowerCase()) {
+                case "chrome":
+                    remoteUrl = new URL("http://localhost:4444/wd/hub");
+                    ChromeOptions chromeOptions = new ChromeOptions();
+                    chromeOptions.addArguments("--disable-notifications");
+                    chromeOptions.addArguments("--disable-popup-blocking");
+                    chromeOptions.addArguments("--no-sandbox");
+                    chromeOptions.addArguments("--disable-dev-shm-usage");
+                    // Add headless mode if requested via -Dheadless=true
+                    if (Boolean.parseBoolean(System.getProperty("headless", "false"))) {
+                        chromeOptions.addArguments("--headless=new");
+                        chromeOptions.addArguments("--disable-gpu");
+                    }
+                    return new RemoteWebDriver(remoteUrl, chromeOptions);
+                    
+                case "firefox":
+                    remoteUrl = new URL("http://localhost:4445/wd/hub");
+                    FirefoxOptions firefoxOptions = new FirefoxOptions();
+                    firefoxOptions.addPreference("dom.webnotifications.enabled", false);
+                    if (Boolean.parseBoolean(System.getProperty("headless", "false"))) {
+                        firefoxOptions.addArguments("--headless");
+                    }
+                    return new RemoteWebDriver(remoteUrl, firefoxOptions);
+                    
+                case "edge":
+                    remoteUrl = new URL("http://localhost:4446/wd/hub");
+                    EdgeOptions edgeOptions = new EdgeOptions();
+                    edgeOptions.addArguments("--disable-notifications");
+                    edgeOptions.addArguments("--no-sandbox");
+                    edgeOptions.addArguments("--disable-dev-shm-usage");
+                    if (Boolean.parseBoolean(System.getProperty("headless", "false"))) {
+                        edgeOptions.addArguments("--headless=new");
+                    }
+                    return new RemoteWebDriver(remoteUrl, edgeOptions);
+                    
+                default:
+                    throw new IllegalArgumentException("Browser " + browser + " is not supported. Use chrome, firefox, or edge.");
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to initialize RemoteWebDriver: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Resolve the local driver binary once per browser (WebDriverManager lookups are slow)
+     */
+    private static void setupDriverBinary(String browser) {
+        synchronized (RESOLVED_BINARIES) {
+            if (RESOLVED_BINARIES.contains(browser)) {
+                return;
+            }
+            switch (browser) {
+                case "chrome" -> WebDriverManager.chromedriver().setup();
+                case "firefox" -> WebDriverManager.firefoxdriver().setup();
+                case "edge" -> WebDriverManager.edgedriver().setup();
+                default -> throw new IllegalArgumentException("Browser " + browser + " is not supported. Use chrome, firefox, or edge.");
+            }
+            RESOLVED_BINARIES.add(browser);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.orangehrm.base;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**
+ * Suite-wide pool of browser sessions.
+ * Sessions are pre-launched in parallel at suite start (-Ddriver.pool.size=N per browser),
+ * leased to test classes, reset between leases (cookies, storage, URL) and only quit at suite end.
+ * Works for both local browsers and the Selenium Grid, since sessions come from DriverFactory.
+ */
+public class DriverPool {
+
+    private static final DriverPool INSTANCE = new DriverPool();
+
+    // Best-effort cleanup of the app origin's storage before handing the session to the next class
+    private static final String CLEAR_STORAGE_SCRIPT =
+        "try { window.localStorage.clear(); } catch (e) {}" +
+        "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    private final Map<String, BlockingDeque<WebDriver>> idle = new ConcurrentHashMap<>();
+    private final Map<WebDriver, String> sessions = new ConcurrentHashMap<>();
+
+    private DriverPool() {
+    }
+
+    public static DriverPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Number of sessions to pre-launch per browser (-Ddriver.pool.size, default 0 = launch on demand)
+     */
+    public static int configuredSize() {
+        try {
+            return Math.max(0, Integer.parseInt(System.getProperty("driver.pool.size", "0").trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Launch sessions for each browser in parallel and park them in the pool
+     *
+     * @param browsers Browsers used by the suite
+     * @param perBrowser Number of sessions to pre-launch for each browser
+     */
+    public void prewarm(Collection<String> browsers, int perBrowser) {
+        if (perBrowser <= 0 || browsers.isEmpty()) {
+            return;
+        }
+        int total = browsers.size() * perBrowser;
+        ExecutorService executor = Executors.newFixedThreadPool(total);
+        try {
+            List<Future<?>> launches = new ArrayList<>();
+            for (String browser : browsers) {
+                for (int i = 0; i < perBrowser; i++) {
+                    launches.add(executor.submit(() -> queueFor(browser).offer(create(browser))));
+                }
+            }
+            for (Future<?> launch : launches) {
+                try {
+                    launch.get();
+                } catch (Exception e) {
+                    // a failed pre-launch is not fatal - lease() creates sessions on demand
+                    System.out.println("Warning: Could not pre-launch browser session - " + e.getMessage());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        System.out.println("Driver pool ready: " + idleCount() + " session(s) for " + browsers);
+    }
+
+    /**
+     * Lease a session for the given browser, launching a new one if none is idle
+     */
+    public WebDriver lease(String browser) {
+        String key = browser.toLowerCase();
+        WebDriver driver = queueFor(key).pollFirst();
+        return driver != null ? driver : create(key);
+    }
+
+    /**
+     * Reset the session and return it to the pool.
+     * Sessions that cannot be reset are quit instead of being handed out again.
+     */
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        String browser = sessions.get(driver);
+        if (browser == null) {
+            driver.quit(); // not ours
+            return;
+        }
+        try {
+            reset(driver);
+            queueFor(browser).offerFirst(driver);
+        } catch (Exception e) {
+            discard(driver);
+        }
+    }
+
+    /**
+     * Quit every session (idle and leased) - called once at suite end
+     */
+    public void shutdown() {
+        for (WebDriver driver : List.copyOf(sessions.keySet())) {
+            discard(driver);
+        }
+        idle.clear();
+    }
+
+    private WebDriver create(String browser) {
+        // Instrumented so lookups that sit in the implicit wait are counted (see TimeoutPolicy)
+        // and every command's latency lands in the CommandMetrics histograms
+        WebDriver driver = TimeoutPolicy.instrument(DriverFactory.initializeDriver(browser),
+            CommandMetrics.listener(browser));
+        sessions.put(driver, browser);
+        return driver;
+    }
+
+    private void reset(WebDriver driver) {
+        ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+        driver.manage().deleteAllCookies();
+        driver.get("about:blank");
+        LocatorCache.forSession(driver).clear();
+    }
+
+    private void discard(WebDriver driver) {
+        sessions.remove(driver);
+        idle.values().forEach(queue -> queue.remove(driver));
+        try {
+            driver.quit();
+        } catch (Exception ignored) {
+            // session already gone
+        }
+    }
+
+    private BlockingDeque<WebDriver> queueFor(String browser) {
+        return idle.computeIfAbsent(browser, b -> new LinkedBlockingDeque<>());
+    }
+
+    private int idleCount() {
+        return idle.values().stream().mapToInt(BlockingDeque::size).sum();
+    }
+}
@@ -0,0 +1,117 @@
+package com.orangehrm.listeners;
+
+import com.orangehrm.base.CommandMetrics;
+import com.orangehrm.utils.CommandBudgets;
+import com.orangehrm.utils.TimingHistory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the WebDriver commands and wall time of every test and checks them against the budget
+ * declared in CommandBudgets and against the baseline of previous runs, so a change that silently
+ * doubles the candidate probing of a page shows up as a regression.
+ *
+ * -Dbudgets.mode=warn (default) prints the regressions, fail also fails the test, off disables the check.
+ * A run regresses against the baseline when it issues more than -Dbudgets.commandTolerance (default 0.2)
+ * more commands than the median of the last runs, or takes more than -Dbudgets.timeTolerance
+ * (default 1.0) longer than its TimingHistory median. Passing runs that did not regress extend the
+ * baseline; -Dbudgets.rebaseline=true accepts every passing run (after an intended change).
+ */
+public class CommandBudgetListener implements IInvokedMethodListener, ISuiteListener {
+
+    // Differences below this many commands are noise (e.g. one extra retry), never a regression
+    private static final long MIN_COMMAND_DELTA = 3;
+
+    private final ThreadLocal<Long> started = new ThreadLocal<>();
+    private final AtomicInteger regressions = new AtomicInteger();
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        if (method.isTestMethod()) {
+            CommandMetrics.resetThreadCommands();
+            started.set(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        Long start = started.get();
+        started.remove();
+        String mode = System.getProperty("budgets.mode", "warn").trim().toLowerCase(Locale.ROOT);
+        if (!method.isTestMethod() || start == null || "off".equals(mode)) {
+            return;
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        long commands = CommandMetrics.threadCommandCount();
+        String testCaseId = TimingHistoryListener.testCaseId(result);
+        String browser = TimingHistoryListener.browser(result);
+        CommandBudgets budgets = CommandBudgets.getDefault();
+
+        List<String> violations = new ArrayList<>();
+        CommandBudgets.Budget budget = budgets.budget(testCaseId);
+        if (budget != null && budget.maxCommands() >= 0 && commands > budget.maxCommands()) {
+            violations.add(commands + " commands (budget " + budget.maxCommands() + ")");
+        }
+        if (budget != null && budget.maxMillis() >= 0 && millis > budget.maxMillis()) {
+            violations.add(millis + " ms (budget " + budget.maxMillis() + " ms)");
+        }
+        boolean commandRegression = false;
+        OptionalLong baseline = budgets.baselineCommands(testCaseId, browser);
+        if (baseline.isPresent() && commands - baseline.getAsLong() >= MIN_COMMAND_DELTA
+                && commands > baseline.getAsLong() * (1 + tolerance("budgets.commandTolerance", "0.2"))) {
+            commandRegression = true;
+            violations.add(commands + " commands (baseline " + baseline.getAsLong() + ")");
+        }
+        OptionalLong medianMillis = historyMedian(testCaseId, browser);
+        if (medianMillis.isPresent() && millis > medianMillis.getAsLong() * (1 + tolerance("budgets.timeTolerance", "1.0"))) {
+            violations.add(millis + " ms (history median " + medianMillis.getAsLong() + " ms)");
+        }
+
+        boolean passed = result.getStatus() == ITestResult.SUCCESS;
+        if (passed && commands > 0 && (!commandRegression || Boolean.getBoolean("budgets.rebaseline"))) {
+            budgets.recordCommands(testCaseId, browser, commands);
+        }
+        if (violations.isEmpty()) {
+            return;
+        }
+        regressions.incrementAndGet();
+        String message = testCaseId + " [" + browser + "] over budget: " + String.join(", ", violations);
+        System.out.println("Warning: " + message);
+        if ("fail".equals(mode) && passed) {
+            result.setStatus(ITestResult.FAILURE);
+            result.setThrowable(new AssertionError(message));
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (regressions.get() > 0) {
+            System.out.println("\n" + regressions.get() + " test(s) exceeded their command / time budget (see warnings above)");
+        }
+        try {
+            CommandBudgets.getDefault().save();
+        } catch (Exception e) {
+            System.out.println("Warning: Could not save command baseline - " + e.getMessage());
+        }
+    }
+
+    private static double tolerance(String property, String defaultValue) {
+        return Double.parseDouble(System.getProperty(property, defaultValue));
+    }
+
+    private static OptionalLong historyMedian(String testCaseId, String browser) {
+        try {
+            return TimingHistory.getDefault().percentile(testCaseId, browser, 50);
+        } catch (Exception e) {
+            return OptionalLong.empty();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.orangehrm.listeners;
+
+import com.orangehrm.base.CommandMetrics;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+/**
+ * Tags the WebDriver commands of each test with its test case ID in CommandMetrics.
+ * Commands issued outside a test (class setup, pool resets) stay untagged.
+ */
+public class CommandMetricsListener implements ITestListener {
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        CommandMetrics.setTestCase(TimingHistoryListener.testCaseId(result));
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        CommandMetrics.setTestCase(null);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        CommandMetrics.setTestCase(null);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        CommandMetrics.setTestCase(null);
+    }
+}
@@ -0,0 +1,68 @@
+package com.orangehrm.listeners;
+
+import com.orangehrm.base.TimeoutPolicy;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Reports how much time each test spent in the implicit wait on element lookups that found nothing
+ * (measured by TimeoutPolicy on pooled sessions), and the total at suite end.
+ * Tests run on the thread that counted, so the per-thread counter is reset when a test starts.
+ */
+public class ImplicitWaitCostListener implements ITestListener, ISuiteListener {
+
+    // Only tests that lost at least this much are printed individually
+    private static final long REPORT_THRESHOLD_MILLIS = 500;
+
+    private final Map<String, Long> costMillis = new ConcurrentSkipListMap<>();
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        TimeoutPolicy.resetImplicitWaitCost();
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (costMillis.isEmpty()) {
+            return;
+        }
+        long total = costMillis.values().stream().mapToLong(Long::longValue).sum();
+        System.out.println(String.format(Locale.ROOT, "\nImplicit wait cost: %.1f s over %d test(s)",
+            total / 1000.0, costMillis.size()));
+    }
+
+    private void record(ITestResult result) {
+        long millis = TimeoutPolicy.implicitWaitCostNanos() / 1_000_000;
+        long misses = TimeoutPolicy.implicitWaitMisses();
+        TimeoutPolicy.resetImplicitWaitCost();
+        if (millis == 0) {
+            return;
+        }
+        String testCaseId = TimingHistoryListener.testCaseId(result);
+        costMillis.merge(testCaseId, millis, Long::sum);
+        if (millis >= REPORT_THRESHOLD_MILLIS) {
+            System.out.println(String.format(Locale.ROOT, "%s: %.1f s in implicit waits (%d lookup(s) found nothing)",
+                testCaseId, millis / 1000.0, misses));
+        }
+    }
+}
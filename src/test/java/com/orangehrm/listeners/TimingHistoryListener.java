@@ -0,0 +1,118 @@
+package com.orangehrm.listeners;
+
+import com.orangehrm.utils.TestData;
+import com.orangehrm.utils.TestSharder;
+import com.orangehrm.utils.TimingHistory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the duration and outcome of every test case (per browser) in TimingHistory,
+ * compacts the store at suite end and exports the median durations of the CSV test cases to the
+ * shared durations file used for sharding (-Dshard.durations, default test-durations.csv).
+ *
+ * Data-driven rows are keyed by their CSV "Test case ID", other tests by Class.method.
+ * At suite end it prints the cases whose last runs are clearly slower than their history.
+ */
+public class TimingHistoryListener implements ITestListener, ISuiteListener {
+
+    // A case is reported as slower when the median of its last runs exceeds the historical median by this factor
+    private static final double SLOWDOWN_FACTOR = 1.5;
+    private static final int RECENT_RUNS = 3;
+
+    // CSV test cases run in this suite (other tests are never sharded, so they are not exported)
+    private final Set<String> csvTestCases = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result, TimingHistory.OUTCOME_PASS);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result, TimingHistory.OUTCOME_FAIL);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        record(result, TimingHistory.OUTCOME_SKIP);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        TimingHistory history;
+        try {
+            history = TimingHistory.getDefault();
+            reportSlowdowns(history);
+            history.compact();
+        } catch (Exception e) {
+            System.out.println("Warning: Could not compact timing history - " + e.getMessage());
+            return;
+        }
+        exportDurations(history);
+    }
+
+    /**
+     * Merge the median duration of the CSV test cases run in this suite into the shared durations
+     * file read by TestSharder; cases that did not run keep their previous value
+     */
+    private void exportDurations(TimingHistory history) {
+        if (csvTestCases.isEmpty()) {
+            return;
+        }
+        Path file = TestSharder.durationsFile();
+        try {
+            Map<String, Long> durations = TestSharder.loadDurations(file);
+            for (String testCaseId : csvTestCases) {
+                history.percentile(testCaseId, null, 50).ifPresent(median -> durations.put(testCaseId, median));
+            }
+            TestSharder.writeDurations(file, durations);
+        } catch (Exception e) {
+            System.out.println("Warning: Could not export test durations to " + file + " - " + e.getMessage());
+        }
+    }
+
+    private void record(ITestResult result, String outcome) {
+        Object[] parameters = result.getParameters();
+        if (parameters != null && parameters.length > 0 && parameters[0] instanceof TestData testData) {
+            csvTestCases.add(testData.getTestCaseId());
+        }
+        try {
+            TimingHistory.getDefault().record(testCaseId(result), browser(result),
+                result.getEndMillis() - result.getStartMillis(), outcome);
+        } catch (Exception e) {
+            System.out.println("Warning: Could not record timing history - " + e.getMessage());
+        }
+    }
+
+    private void reportSlowdowns(TimingHistory history) {
+        for (String testCaseId : history.percentiles(null, 50).keySet()) {
+            OptionalLong overall = history.percentile(testCaseId, null, 50);
+            OptionalLong recent = history.recentPercentile(testCaseId, null, 50, RECENT_RUNS);
+            if (overall.isPresent() && recent.isPresent() && recent.getAsLong() > overall.getAsLong() * SLOWDOWN_FACTOR) {
+                System.out.println("Slower than usual: " + testCaseId + " - last runs " + recent.getAsLong()
+                    + " ms, history median " + overall.getAsLong() + " ms");
+            }
+        }
+    }
+
+    static String testCaseId(ITestResult result) {
+        Object[] parameters = result.getParameters();
+        if (parameters != null && parameters.length > 0 && parameters[0] instanceof TestData testData) {
+            return testData.getTestCaseId();
+        }
+        return result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+    }
+
+    static String browser(ITestResult result) {
+        String browser = result.getTestContext().getCurrentXmlTest().getParameter("browser");
+        return browser != null ? browser.toLowerCase() : "-";
+    }
+}
@@ -0,0 +1,44 @@
+package com.orangehrm.plans;
+
+import com.orangehrm.pages.LeavePage;
+import com.orangehrm.pages.MyInfoPage;
+
+/**
+ * Pages a step plan runs against. Pages a feature does not use are null.
+ *
+ * @param testCaseId Test case being executed (used in messages)
+ * @param myInfo My Info page of the current thread, or null
+ * @param leave Apply Leave page of the current thread, or null
+ * @param leaveDateShiftDays Days added to literal leave dates, so parallel workers apply for
+ *                           different days and never overlap each other
+ */
+public record PlanContext(String testCaseId, MyInfoPage myInfo, LeavePage leave, long leaveDateShiftDays) {
+
+    public PlanContext(String testCaseId, MyInfoPage myInfo, LeavePage leave) {
+        this(testCaseId, myInfo, leave, 0);
+    }
+
+    MyInfoPage requireMyInfo() {
+        if (myInfo == null) {
+            throw new IllegalStateException(testCaseId + ": step needs the My Info page");
+        }
+        return myInfo;
+    }
+
+    LeavePage requireLeave() {
+        if (leave == null) {
+            throw new IllegalStateException(testCaseId + ": step needs the Apply Leave page");
+        }
+        return leave;
+    }
+
+    /**
+     * Wait for the save / submit request to finish
+     */
+    void waitForNetworkIdle() {
+        boolean idle = myInfo != null ? myInfo.waitForNetworkIdle() : requireLeave().waitForNetworkIdle();
+        if (!idle) {
+            System.out.println("Warning: Network did not become idle in time");
+        }
+    }
+}
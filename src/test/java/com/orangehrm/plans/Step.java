@@ -0,0 +1,224 @@
+package com.orangehrm.plans;
+
+import com.orangehrm.pages.MyInfoPage;
+import com.orangehrm.pages.PersonalDetails;
+import org.testng.Assert;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * One typed action of a step plan.
+ */
+public sealed interface Step {
+
+    void run(PlanContext context);
+
+    /**
+     * Whether the step changes the form (and so needs a freshly loaded page)
+     */
+    default boolean mutatesForm() {
+        return true;
+    }
+
+    /**
+     * Literal text or a date relative to today ("today", "today+2d", "today-18y"),
+     * resolved when the step runs
+     */
+    record Value(String literal, long amount, ChronoUnit unit) {
+
+        static Value of(String literal) {
+            return new Value(literal, 0, null);
+        }
+
+        static Value today(long amount, ChronoUnit unit) {
+            return new Value(null, amount, unit);
+        }
+
+        String resolve() {
+            return literal != null ? literal : LocalDate.now().plus(amount, unit).toString();
+        }
+
+        /**
+         * Resolve a date, moving a literal ISO date by shiftDays. Dates relative to today
+         * (boundary cases) and literals that are not valid dates (negative cases) stay as written.
+         */
+        String resolveDate(long shiftDays) {
+            if (literal == null || shiftDays == 0) {
+                return resolve();
+            }
+            try {
+                return LocalDate.parse(literal).plusDays(shiftDays).toString();
+            } catch (DateTimeParseException e) {
+                return literal;
+            }
+        }
+
+        @Override
+        public String toString() {
+            if (literal != null) {
+                return '"' + literal + '"';
+            }
+            return amount == 0 ? "today" : "today" + (amount > 0 ? "+" : "") + amount + unit.toString().charAt(0);
+        }
+    }
+
+    /**
+     * Type into (value != null) or clear (value == null) a My Info field
+     */
+    record FieldWrite(MyInfoPage.Field field, Value value) implements Step {
+        @Override
+        public void run(PlanContext context) {
+            if (value == null) {
+                context.requireMyInfo().clearField(field);
+            } else {
+                context.requireMyInfo().updateField(field, value.resolve());
+            }
+        }
+    }
+
+    /**
+     * Always type into a My Info field, key by key. Never merged into a fast fill, so cases that
+     * test keyboard behavior (e.g. max length) keep it.
+     */
+    record TypeField(MyInfoPage.Field field, Value value) implements Step {
+        @Override
+        public void run(PlanContext context) {
+            context.requireMyInfo().updateField(field, value.resolve());
+        }
+    }
+
+    /**
+     * Adjacent field writes merged by the optimizer (last write per field wins).
+     * With -Dfill.mode=fast they are set in one script call instead of being typed.
+     */
+    record FillFields(List<FieldWrite> writes) implements Step {
+        @Override
+        public void run(PlanContext context) {
+            if (!fast()) {
+                for (FieldWrite write : writes) {
+                    write.run(context);
+                }
+                return;
+            }
+            PersonalDetails details = PersonalDetails.empty();
+            for (FieldWrite write : writes) {
+                details = details.with(write.field(), write.value() == null ? "" : write.value().resolve());
+            }
+            context.requireMyInfo().fillPersonalDetails(details);
+        }
+
+        static boolean fast() {
+            return "fast".equalsIgnoreCase(System.getProperty("fill.mode", "type").trim());
+        }
+    }
+
+    record SelectNationality(Value value) implements Step {
+        @Override
+        public void run(PlanContext context) {
+            context.requireMyInfo().selectNationality(value.resolve());
+        }
+    }
+
+    record SelectMaritalStatus(Value value) implements Step {
+        @Override
+        public void run(PlanContext context) {
+            context.requireMyInfo().selectMaritalStatus(value.resolve());
+        }
+    }
+
+    record SelectGender(Value value) implements Step {
+        @Override
+        public void run(PlanContext context) {
+            context.requireMyInfo().selectGender(value.resolve());
+        }
+    }
+
+    /**
+     * Click Save and wait for the request to finish
+     */
+    record Save() implements Step {
+        @Override
+        public void run(PlanContext context) {
+            context.requireMyInfo().clickSave();
+            context.waitForNetworkIdle();
+        }
+    }
+
+    /**
+     * Fill and submit the Apply Leave form and wait for the request to finish
+     */
+    record ApplyLeave(Value leaveType, Value fromDate, Value toDate, Value comment) implements Step {
+        @Override
+        public void run(PlanContext context) {
+            long shift = context.leaveDateShiftDays();
+            context.requireLeave().applyLeave(leaveType.resolve(), fromDate.resolveDate(shift), toDate.resolveDate(shift),
+                comment.resolve());
+            context.waitForNetworkIdle();
+        }
+    }
+
+    record Wait() implements Step {
+        @Override
+        public void run(PlanContext context) {
+            context.waitForNetworkIdle();
+        }
+
+        @Override
+        public boolean mutatesForm() {
+            return false;
+        }
+    }
+
+    /**
+     * Read a field (fails if it cannot be found)
+     */
+    record Read(MyInfoPage.Field field) implements Step {
+        @Override
+        public void run(PlanContext context) {
+            context.requireMyInfo().getFieldValue(field);
+        }
+
+        @Override
+        public boolean mutatesForm() {
+            return false;
+        }
+    }
+
+    /**
+     * Assert that a field value matches a regular expression
+     */
+    record Expect(MyInfoPage.Field field, String regex, String message) implements Step {
+        @Override
+        public void run(PlanContext context) {
+            String value = context.requireMyInfo().getFieldValue(field);
+            Assert.assertTrue(value != null && value.matches(regex),
+                context.testCaseId() + " Failed: " + (message != null ? message : field + " should match " + regex));
+        }
+
+        @Override
+        public boolean mutatesForm() {
+            return false;
+        }
+    }
+
+    /**
+     * Run a step but only log a warning when it fails (e.g. module not accessible for this user)
+     */
+    record Try(Step step) implements Step {
+        @Override
+        public void run(PlanContext context) {
+            try {
+                step.run(context);
+            } catch (Exception e) {
+                System.out.println(context.testCaseId() + ": Step skipped (" + step + ") - " + e.getMessage());
+            }
+        }
+
+        @Override
+        public boolean mutatesForm() {
+            return step.mutatesForm();
+        }
+    }
+}
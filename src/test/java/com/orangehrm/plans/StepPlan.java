@@ -0,0 +1,29 @@
+package com.orangehrm.plans;
+
+import java.util.List;
+
+/**
+ * Compiled, optimized list of steps for one test case.
+ *
+ * @param testCaseId Test case ID from the CSV
+ * @param steps Steps in execution order
+ */
+public record StepPlan(String testCaseId, List<Step> steps) {
+
+    public StepPlan {
+        steps = List.copyOf(steps);
+    }
+
+    /**
+     * Whether any step changes the form; read-only plans can skip the reload before they run
+     */
+    public boolean mutatesForm() {
+        return steps.stream().anyMatch(Step::mutatesForm);
+    }
+
+    public void execute(PlanContext context) {
+        for (Step step : steps) {
+            step.run(context);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.orangehrm.plans;
+
+import com.orangehrm.pages.MyInfoPage;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles one line of the step-plan DSL into an optimized StepPlan.
+ *
+ * <pre>
+ * TC001: set firstName "Văn"; set lastName "Nguyễn"; save
+ * TC010: expect employeeId matches "\d{4}" "Employee ID should be 4 digits"
+ * TC049: try apply "CAN - FMLA" today today+2d "Xin nghỉ phép"
+ * </pre>
+ *
+ * Steps: set FIELD VALUE, type FIELD VALUE, clear FIELD, select nationality|maritalStatus|gender VALUE,
+ * save, wait, read FIELD, expect FIELD matches "REGEX" ["MESSAGE"], apply TYPE FROM TO COMMENT,
+ * try STEP. "set" may be applied by script (-Dfill.mode=fast); "type" always presses the keys. Values are "quoted", bare words, or dates relative to today (today, today+2d, today-18y).
+ *
+ * The optimizer merges adjacent field writes into one FillFields step (last write per field wins)
+ * and drops waits that follow a step which already waited (save, apply) or left nothing pending.
+ */
+public final class StepPlanCompiler {
+
+    private static final Pattern RELATIVE_DATE = Pattern.compile("today(?:([+-]\\d+)([dwmy]))?");
+
+    private StepPlanCompiler() {
+    }
+
+    /**
+     * Compile the steps of one test case
+     *
+     * @param testCaseId Test case ID
+     * @param source Steps separated by ';'
+     */
+    public static StepPlan compile(String testCaseId, String source) {
+        List<Step> steps = new ArrayList<>();
+        for (List<String> tokens : tokenize(source)) {
+            if (!tokens.isEmpty()) {
+                steps.add(parseStep(tokens, 0, tokens.size()));
+            }
+        }
+        return new StepPlan(testCaseId, optimize(steps));
+    }
+
+    /**
+     * Merge adjacent field writes and remove redundant waits
+     */
+    static List<Step> optimize(List<Step> steps) {
+        List<Step> merged = new ArrayList<>();
+        Map<MyInfoPage.Field, Step.FieldWrite> run = new LinkedHashMap<>();
+        for (Step step : steps) {
+            if (step instanceof Step.FieldWrite write) {
+                run.put(write.field(), write);
+                continue;
+            }
+            if (step instanceof Step.FillFields fill) {
+                fill.writes().forEach(write -> run.put(write.field(), write));
+                continue;
+            }
+            flush(run, merged);
+            merged.add(step);
+        }
+        flush(run, merged);
+
+        List<Step> optimized = new ArrayList<>();
+        for (Step step : merged) {
+            if (step instanceof Step.Wait && !leavesRequestsPending(optimized)) {
+                continue;
+            }
+            optimized.add(step);
+        }
+        return optimized;
+    }
+
+    private static void flush(Map<MyInfoPage.Field, Step.FieldWrite> run, List<Step> target) {
+        if (!run.isEmpty()) {
+            target.add(new Step.FillFields(List.copyOf(run.values())));
+            run.clear();
+        }
+    }
+
+    /**
+     * Whether the last step may have started requests it did not wait for
+     */
+    private static boolean leavesRequestsPending(List<Step> steps) {
+        if (steps.isEmpty()) {
+            return false; // the page load before the plan is already awaited
+        }
+        Step last = steps.get(steps.size() - 1);
+        while (last instanceof Step.Try attempt) {
+            last = attempt.step();
+        }
+        return !(last instanceof Step.Save || last instanceof Step.ApplyLeave || last instanceof Step.Wait
+            || last instanceof Step.Read || last instanceof Step.Expect);
+    }
+
+    private static Step parseStep(List<String> tokens, int from, int to) {
+        String verb = tokens.get(from).toLowerCase(Locale.ROOT);
+        int argc = to - from - 1;
+        switch (verb) {
+            case "set":
+                expectArgs(tokens, from, argc, 2);
+                return new Step.FieldWrite(field(tokens.get(from + 1)), value(tokens.get(from + 2)));
+            case "type":
+                expectArgs(tokens, from, argc, 2);
+                return new Step.TypeField(field(tokens.get(from + 1)), value(tokens.get(from + 2)));
+            case "clear":
+                expectArgs(tokens, from, argc, 1);
+                return new Step.FieldWrite(field(tokens.get(from + 1)), null);
+            case "select":
+                expectArgs(tokens, from, argc, 2);
+                Step.Value selected = value(tokens.get(from + 2));
+                switch (tokens.get(from + 1).toLowerCase(Locale.ROOT)) {
+                    case "nationality":
+                        return new Step.SelectNationality(selected);
+                    case "maritalstatus":
+                        return new Step.SelectMaritalStatus(selected);
+                    case "gender":
+                        return new Step.SelectGender(selected);
+                    default:
+                        throw new IllegalArgumentException("Unknown dropdown: " + tokens.get(from + 1));
+                }
+            case "save":
+                expectArgs(tokens, from, argc, 0);
+                return new Step.Save();
+            case "wait":
+                expectArgs(tokens, from, argc, 0);
+                return new Step.Wait();
+            case "read":
+                expectArgs(tokens, from, argc, 1);
+                return new Step.Read(field(tokens.get(from + 1)));
+            case "expect":
+                if (argc < 3 || argc > 4 || !"matches".equalsIgnoreCase(tokens.get(from + 2))) {
+                    throw new IllegalArgumentException("Expected: expect FIELD matches \"REGEX\" [\"MESSAGE\"]");
+                }
+                return new Step.Expect(field(tokens.get(from + 1)), unquote(tokens.get(from + 3)),
+                    argc == 4 ? unquote(tokens.get(from + 4)) : null);
+            case "apply":
+                expectArgs(tokens, from, argc, 4);
+                return new Step.ApplyLeave(value(tokens.get(from + 1)), value(tokens.get(from + 2)),
+                    value(tokens.get(from + 3)), value(tokens.get(from + 4)));
+            case "try":
+                if (argc < 1) {
+                    throw new IllegalArgumentException("Expected: try STEP");
+                }
+                return new Step.Try(parseStep(tokens, from + 1, to));
+            default:
+                throw new IllegalArgumentException("Unknown step: " + tokens.get(from));
+        }
+    }
+
+    private static void expectArgs(List<String> tokens, int from, int actual, int expected) {
+        if (actual != expected) {
+            throw new IllegalArgumentException("'" + tokens.get(from) + "' takes " + expected + " argument(s), got " + actual);
+        }
+    }
+
+    private static MyInfoPage.Field field(String token) {
+        return MyInfoPage.Field.fromName(unquote(token));
+    }
+
+    private static Step.Value value(String token) {
+        if (token.startsWith("\"")) {
+            return Step.Value.of(unquote(token));
+        }
+        Matcher date = RELATIVE_DATE.matcher(token);
+        if (date.matches()) {
+            if (date.group(1) == null) {
+                return Step.Value.today(0, ChronoUnit.DAYS);
+            }
+            ChronoUnit unit = switch (date.group(2)) {
+                case "d" -> ChronoUnit.DAYS;
+                case "w" -> ChronoUnit.WEEKS;
+                case "m" -> ChronoUnit.MONTHS;
+                default -> ChronoUnit.YEARS;
+            };
+            return Step.Value.today(Long.parseLong(date.group(1)), unit);
+        }
+        return Step.Value.of(token);
+    }
+
+    private static String unquote(String token) {
+        if (token.length() >= 2 && token.startsWith("\"") && token.endsWith("\"")) {
+            return token.substring(1, token.length() - 1).replace("\\\"", "\"");
+        }
+        return token;
+    }
+
+    /**
+     * Split into steps (on ';') and tokens (on whitespace), keeping "quoted strings" whole
+     */
+    private static List<List<String>> tokenize(String source) {
+        List<List<String>> steps = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (quoted) {
+                token.append(c);
+                if (c == '\\' && i + 1 < source.length() && source.charAt(i + 1) == '"') {
+                    token.append(source.charAt(++i));
+                } else if (c == '"') {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+                token.append(c);
+            } else if (c == ';' || Character.isWhitespace(c)) {
+                if (token.length() > 0) {
+                    tokens.add(token.toString());
+                    token.setLength(0);
+                }
+                if (c == ';') {
+                    steps.add(tokens);
+                    tokens = new ArrayList<>();
+                }
+            } else {
+                token.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quote");
+        }
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+        }
+        steps.add(tokens);
+        return steps;
+    }
+}
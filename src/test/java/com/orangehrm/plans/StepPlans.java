@@ -0,0 +1,123 @@
+package com.orangehrm.plans;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Step plans of a plan file, compiled once per process and cached.
+ * The file (one "TCxxx: step; step" line per test case, '#' comments) sits next to the CSV;
+ * it is recompiled only when its modification time or size changes.
+ *
+ * Location: -Dplans.path (default testcases_all_ess_detailed.plan)
+ */
+public final class StepPlans {
+
+    public static final String DEFAULT_PLAN_FILE = "testcases_all_ess_detailed.plan";
+
+    private static final Map<Path, StepPlans> CACHE = new ConcurrentHashMap<>();
+
+    private final long modifiedMillis;
+    private final long size;
+    private final Map<String, StepPlan> plans;
+
+    private StepPlans(long modifiedMillis, long size, Map<String, StepPlan> plans) {
+        this.modifiedMillis = modifiedMillis;
+        this.size = size;
+        this.plans = Collections.unmodifiableMap(plans);
+    }
+
+    /**
+     * Plans of the configured plan file
+     */
+    public static StepPlans get() {
+        return get(Path.of(System.getProperty("plans.path", DEFAULT_PLAN_FILE)));
+    }
+
+    public static StepPlans get(Path file) {
+        Path path = file.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = attributes(path);
+        StepPlans current = CACHE.get(path);
+        if (current != null && current.matches(attributes)) {
+            return current;
+        }
+        synchronized (StepPlans.class) {
+            current = CACHE.get(path);
+            if (current == null || !current.matches(attributes)) {
+                current = load(path, attributes);
+                CACHE.put(path, current);
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Compiled plan of a test case, or null if the file has none
+     */
+    public StepPlan plan(String testCaseId) {
+        return plans.get(testCaseId);
+    }
+
+    public Map<String, StepPlan> all() {
+        return plans;
+    }
+
+    private boolean matches(BasicFileAttributes attributes) {
+        return attributes.lastModifiedTime().toMillis() == modifiedMillis && attributes.size() == size;
+    }
+
+    private static StepPlans load(Path path, BasicFileAttributes attributes) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read step plans: " + path, e);
+        }
+        Map<String, StepPlan> plans = new LinkedHashMap<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = stripComment(lines.get(i)).strip();
+            if (line.isEmpty()) {
+                continue;
+            }
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException(path.getFileName() + ":" + (i + 1) + ": expected 'TCxxx: steps'");
+            }
+            String testCaseId = line.substring(0, colon).strip();
+            try {
+                plans.put(testCaseId, StepPlanCompiler.compile(testCaseId, line.substring(colon + 1)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(path.getFileName() + ":" + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return new StepPlans(attributes.lastModifiedTime().toMillis(), attributes.size(), plans);
+    }
+
+    private static String stripComment(String line) {
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"' && (i == 0 || line.charAt(i - 1) != '\\')) {
+                quoted = !quoted;
+            } else if (c == '#' && !quoted) {
+                return line.substring(0, i);
+            }
+        }
+        return line;
+    }
+
+    private static BasicFileAttributes attributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read step plans: " + path, e);
+        }
+    }
+}
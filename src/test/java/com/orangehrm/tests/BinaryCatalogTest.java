@@ -0,0 +1,104 @@
+package com.orangehrm.tests;
+
+import com.orangehrm.utils.BinaryCatalogCompiler;
+import com.orangehrm.utils.BinaryTestCatalog;
+import com.orangehrm.utils.TestData;
+import org.testng.Assert;
+import org.testng.annotations.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Offline round-trip tests: CSV -> BinaryCatalogCompiler -> BinaryTestCatalog.
+ * Works on a small CSV in a temporary directory.
+ */
+public class BinaryCatalogTest {
+
+    private static final String CSV = "\uFEFFFeature ID,Test case ID,Test Description,Test Steps,Expected Result,"
+        + "Actual Result,Status,Tester,Tested Date,Remark\n"
+        + "UC01,TC002,Cập nhật họ tên,\"1. Đăng nhập\n2. Vào My Info, sửa tên\",\"Lưu \"\"thành công\"\"\",,Pass,Vũ,2024-12-01,\n"
+        + "uc02,TC040,Apply leave,Apply,Submitted,,Fail,Vũ,2024-12-02,R1\n"
+        + "UC01,TC001,Họ tên trống,Clear,Required,,Pass,Vũ,2024-12-01,\n"
+        + "UC01,TC002,Duplicate ID,Steps,Result,,,,,\n";
+
+    private Path directory;
+    private Path csv;
+    private BinaryTestCatalog catalog;
+
+    @BeforeMethod
+    public void compileCatalog() throws IOException {
+        directory = Files.createTempDirectory("catalog-test");
+        csv = directory.resolve("cases.csv");
+        Files.writeString(csv, CSV, StandardCharsets.UTF_8);
+        Path compiled = directory.resolve("cases.catalog");
+        Assert.assertEquals(BinaryCatalogCompiler.compile(csv, compiled), 4);
+        catalog = BinaryTestCatalog.open(compiled);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testRowsRoundTrip() {
+        Assert.assertEquals(catalog.rowCount(), 4);
+        TestData row = catalog.row(0);
+        Assert.assertEquals(row.getFeatureId(), "UC01");
+        Assert.assertEquals(row.getTestCaseId(), "TC002");
+        Assert.assertEquals(row.getTestDescription(), "Cập nhật họ tên");
+        Assert.assertEquals(row.getTestSteps(), "1. Đăng nhập\n2. Vào My Info, sửa tên");
+        Assert.assertEquals(row.getExpectedResult(), "Lưu \"thành công\"");
+        Assert.assertEquals(row.getActualResult(), "");
+        Assert.assertEquals(row.getStatus(), "Pass");
+        Assert.assertEquals(row.getTester(), "Vũ");
+        Assert.assertEquals(row.getTestedDate(), "2024-12-01");
+        Assert.assertEquals(catalog.row(1).getRemark(), "R1");
+        Assert.assertEquals(catalog.testCaseId(2), "TC001");
+    }
+
+    @Test
+    public void testFeatureIndexIsCaseInsensitiveAndInCsvOrder() {
+        Assert.assertEquals(catalog.rowsOfFeature("uc01"), new int[] {0, 2, 3});
+        Assert.assertEquals(catalog.rowsOfFeature(" UC02 "), new int[] {1});
+        Assert.assertEquals(catalog.rowsOfFeature("UC03"), new int[0]);
+    }
+
+    @Test
+    public void testIdIndexResolvesDuplicatesToTheFirstRow() {
+        Assert.assertEquals(catalog.rowOf("TC001"), 2);
+        Assert.assertEquals(catalog.rowOf("TC002"), 0);
+        Assert.assertEquals(catalog.rowOf("TC040"), 1);
+        Assert.assertEquals(catalog.rowOf("TC999"), -1);
+    }
+
+    @Test
+    public void testIteratorHandsOutRowsInTheGivenOrder() {
+        List<String> descriptions = new ArrayList<>();
+        for (Iterator<Object[]> rows = catalog.iterator(new int[] {3, 1}); rows.hasNext(); ) {
+            descriptions.add(((TestData) rows.next()[0]).getTestDescription());
+        }
+        Assert.assertEquals(descriptions, List.of("Duplicate ID", "Apply leave"));
+    }
+
+    @Test
+    public void testStaleCatalogIsDetected() throws IOException {
+        Assert.assertTrue(catalog.isCompiledFrom(Files.readAttributes(csv, BasicFileAttributes.class)));
+
+        Files.writeString(csv, CSV + "UC02,TC041,Apply leave,Apply,Submitted,,,,,\n", StandardCharsets.UTF_8);
+
+        Assert.assertFalse(catalog.isCompiledFrom(Files.readAttributes(csv, BasicFileAttributes.class)));
+    }
+}
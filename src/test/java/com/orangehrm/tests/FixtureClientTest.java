@@ -0,0 +1,127 @@
+package com.orangehrm.tests;
+
+import com.orangehrm.utils.OrangeHrmFixtureClient;
+import com.orangehrm.utils.OrangeHrmStubServer;
+import com.orangehrm.utils.WorkerAccounts;
+import org.testng.Assert;
+import org.testng.annotations.*;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Offline tests for OrangeHrmFixtureClient against the local OrangeHrmStubServer.
+ * No browser or OrangeHRM instance needed.
+ */
+public class FixtureClientTest {
+
+    private static final int EMP_NUMBER = 7;
+
+    private OrangeHrmStubServer stub;
+    private OrangeHrmFixtureClient client;
+
+    @BeforeMethod
+    public void startStub() throws IOException {
+        stub = OrangeHrmStubServer.start("test-session");
+        client = new OrangeHrmFixtureClient(stub.apiBase(), stub.cookieHeader());
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    public void testResetPersonalDetailsRestoresBaseline() throws IOException {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("firstName", "Văn");
+        details.put("lastName", "Nguyễn");
+        details.put("otherId", "CMND123456");
+        details.put("nationality", Map.of("id", 191, "name", "Vietnamese"));
+        stub.putPersonalDetails(EMP_NUMBER, details);
+
+        Map<String, Object> baseline = client.getPersonalDetails(EMP_NUMBER);
+        stub.personalDetails(EMP_NUMBER).put("firstName", "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAA");
+
+        client.resetPersonalDetails(EMP_NUMBER, baseline);
+
+        Assert.assertEquals(stub.personalDetails(EMP_NUMBER).get("firstName"), "Văn");
+        Assert.assertEquals(((Number) stub.personalDetails(EMP_NUMBER).get("nationalityId")).intValue(), 191);
+    }
+
+    @Test
+    public void testCancelOpenLeaveRequestsOnlyTouchesOpenRequestsInRange() throws IOException {
+        long pending = stub.addLeaveRequest(LocalDate.of(2026, 12, 25), LocalDate.of(2026, 12, 27),
+            OrangeHrmFixtureClient.STATUS_PENDING_APPROVAL);
+        long scheduled = stub.addLeaveRequest(LocalDate.of(2026, 12, 28), LocalDate.of(2026, 12, 28),
+            OrangeHrmFixtureClient.STATUS_SCHEDULED);
+        long taken = stub.addLeaveRequest(LocalDate.of(2026, 12, 26), LocalDate.of(2026, 12, 26), 3);
+        long outOfRange = stub.addLeaveRequest(LocalDate.of(2027, 6, 1), LocalDate.of(2027, 6, 2),
+            OrangeHrmFixtureClient.STATUS_PENDING_APPROVAL);
+
+        int cancelled = client.cancelOpenLeaveRequests(LocalDate.of(2026, 12, 1), LocalDate.of(2026, 12, 31));
+
+        Assert.assertEquals(cancelled, 2);
+        Assert.assertEquals(stub.leaveRequestStatus(pending), 0);
+        Assert.assertEquals(stub.leaveRequestStatus(scheduled), 0);
+        Assert.assertEquals(stub.leaveRequestStatus(taken), 3);
+        Assert.assertEquals(stub.leaveRequestStatus(outOfRange), OrangeHrmFixtureClient.STATUS_PENDING_APPROVAL);
+    }
+
+    @Test
+    public void testReadLeaveBalance() throws IOException {
+        stub.setLeaveBalance(2, 10.0);
+
+        Map<String, Object> balance = client.getLeaveBalance(2);
+
+        Assert.assertEquals(((Number) ((Map<?, ?>) balance.get("balance")).get("balance")).doubleValue(), 10.0);
+    }
+
+    @Test
+    public void testWorkerAccountsGetOwnEmployeeLoginAndLeave() throws IOException {
+        stub.addLeaveType(1, "CAN - FMLA");
+        stub.addLeaveType(2, "CAN - Personal");
+        LocalDate today = LocalDate.now();
+        stub.addLeavePeriod(LocalDate.of(today.getYear() - 1, 1, 1), LocalDate.of(today.getYear() - 1, 12, 31));
+        stub.addLeavePeriod(LocalDate.of(today.getYear(), 1, 1), LocalDate.of(today.getYear(), 12, 31));
+        WorkerAccounts accounts = new WorkerAccounts(client, "MyInfoTest");
+
+        WorkerAccounts.Account first = accounts.create(0);
+        WorkerAccounts.Account second = accounts.create(1);
+        accounts.entitleToAllLeave(first, 20);
+
+        Assert.assertNotEquals(first.empNumber(), second.empNumber());
+        Assert.assertNotEquals(first.username(), second.username());
+        Assert.assertTrue(((String) stub.personalDetails(first.empNumber()).get("employeeId")).matches("\\d{4}"));
+        Assert.assertEquals(((Number) stub.user(first.username()).get("userRoleId")).intValue(), OrangeHrmFixtureClient.ROLE_ESS);
+        // Past leave periods are skipped
+        Assert.assertEquals(stub.leaveEntitlements(first.empNumber()).size(), 2);
+        Assert.assertTrue(stub.leaveEntitlements(second.empNumber()).isEmpty());
+
+        accounts.deleteAll();
+
+        Assert.assertNull(stub.personalDetails(first.empNumber()));
+        Assert.assertNull(stub.user(second.username()));
+    }
+
+    @Test
+    public void testCreateEmployeeRejectsTakenEmployeeId() throws IOException {
+        client.createEmployee("Worker0", "LeaveTest", "0042");
+
+        Assert.assertThrows(IOException.class, () -> client.createEmployee("Worker1", "LeaveTest", "0042"));
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testRejectedSessionFails() throws IOException {
+        new OrangeHrmFixtureClient(stub.apiBase(), "orangehrm=expired").getPersonalDetails(EMP_NUMBER);
+    }
+
+    @Test
+    public void testEmpNumberFromUrl() {
+        Assert.assertEquals(OrangeHrmFixtureClient.empNumberFromUrl(
+            "http://localhost:8080/web/index.php/pim/viewPersonalDetails/empNumber/7"), 7);
+        Assert.assertEquals(OrangeHrmFixtureClient.empNumberFromUrl(
+            "http://localhost:8080/web/index.php/dashboard/index"), -1);
+    }
+}
@@ -3,10 +3,19 @@ package com.orangehrm.tests;
 import com.orangehrm.base.BaseTest;
 import com.orangehrm.pages.LoginPage;
 import com.orangehrm.pages.LeavePage;
+import com.orangehrm.plans.PlanContext;
+import com.orangehrm.plans.StepPlan;
+import com.orangehrm.plans.StepPlans;
 import com.orangehrm.utils.CSVDataProvider;
+import com.orangehrm.utils.OrangeHrmFixtureClient;
 import com.orangehrm.utils.TestData;
+import com.orangehrm.utils.WorkerAccounts;
+import org.openqa.selenium.WebDriver;
 import org.testng.Assert;
 import org.testng.annotations.*;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Test class for UC02 - Leave Management functionality.
@@ -24,44 +33,138 @@ import org.testng.annotations.*;
  */
 public class LeaveTest extends BaseTest {
     
-    private LoginPage loginPage;
-    private LeavePage leavePage;
+    // Per-thread state: every data provider worker drives its own browser, logged in as its own
+    // employee (see WorkerAccounts) and on Apply Leave
+    private final ThreadLocal<Worker> workers = new ThreadLocal<>();
+    private final AtomicInteger workerCount = new AtomicInteger();
+    
+    // Employees for the workers, created with the configured (admin) account; null when that
+    // failed and every worker falls back to the configured account
+    private WorkerAccounts accounts;
+    
+    // Days of leave per type and leave period for each worker employee
+    private static final double WORKER_ENTITLEMENT_DAYS = 20;
     
     // Test credentials - REPLACE WITH ACTUAL CREDENTIALS
     // Default to provided admin account; allow override via -Dtest.username and -Dtest.password
     private static final String EMPLOYEE_USERNAME = System.getProperty("test.username", "orangehrm");
     private static final String EMPLOYEE_PASSWORD = System.getProperty("test.password", "OrangeHRM@123");
 
+    /**
+     * Browser of one worker thread
+     *
+     * @param leaveDateShiftDays Worker N applies N weeks earlier than the plan says, so workers that
+     *                           share the configured account do not overlap each other
+     */
+    private record Worker(LeavePage page, long leaveDateShiftDays) {
+    }
+
+    /**
+     * Log in with the configured account on the class thread: cancel its leftover requests and
+     * use its session to create the worker employees, then hand the browser back to the pool
+     */
     @BeforeClass
-    public void loginAsEmployee() {
-        loginPage = new LoginPage(driver);
-        leavePage = new LeavePage(driver);
-        
-        // Login as employee
-        loginPage.login(EMPLOYEE_USERNAME, EMPLOYEE_PASSWORD);
-        Assert.assertTrue(loginPage.isLoginSuccessful(), "Login failed");
+    public void prepareWorkerAccounts() {
+        WebDriver classDriver = getDriver();
+        Assert.assertTrue(new LoginPage(classDriver).loginWithSessionReuse(EMPLOYEE_USERNAME, EMPLOYEE_PASSWORD, LeavePage.APPLY_ROUTE),
+            "Login failed");
+        cancelLeftoverLeaveRequests(classDriver);
+        try {
+            accounts = new WorkerAccounts(OrangeHrmFixtureClient.fromDriver(classDriver), getClass().getSimpleName());
+        } catch (Exception e) {
+            System.out.println("Warning: No API session for creating worker employees - " + e.getMessage());
+        }
+        releaseDriver();
+    }
+
+    /**
+     * Worker state of the current thread, creating its employee and logging in on first use
+     */
+    private Worker worker() {
+        Worker worker = workers.get();
+        if (worker == null) {
+            worker = startWorker(workerCount.getAndIncrement());
+            workers.set(worker);
+        }
+        return worker;
+    }
+
+    private Worker startWorker(int index) {
+        WorkerAccounts.Account account = null;
+        if (accounts != null) {
+            try {
+                account = accounts.create(index);
+                accounts.entitleToAllLeave(account, WORKER_ENTITLEMENT_DAYS);
+            } catch (Exception e) {
+                System.out.println("Warning: Could not create an employee for worker " + index + " - " + e.getMessage()
+                    + " (using " + EMPLOYEE_USERNAME + ")");
+                account = null;
+            }
+        }
+        WebDriver threadDriver = getDriver();
+        LeavePage page = new LeavePage(threadDriver);
         
-        // Try to navigate to Leave section - may not have permission
+        // Login (reuses the captured session when available) and open Apply Leave directly
+        String username = account != null ? account.username() : EMPLOYEE_USERNAME;
+        String password = account != null ? account.password() : EMPLOYEE_PASSWORD;
+        Assert.assertTrue(new LoginPage(threadDriver).loginWithSessionReuse(username, password, LeavePage.APPLY_ROUTE),
+            "Login failed");
+        page.waitForNetworkIdle(); // Wait for the Apply Leave form to load
+        // Earlier rather than later, so the dates stay in the leave period the plan targets
+        return new Worker(page, -7L * index);
+    }
+
+    /**
+     * Cancel pending / scheduled requests left by earlier runs over the API,
+     * otherwise TC040-TC049 fail with overlap errors on every run after the first
+     */
+    private static void cancelLeftoverLeaveRequests(WebDriver session) {
         try {
-            leavePage.navigateToLeave();
-            Thread.sleep(1000);
-            leavePage.clickApply();
+            OrangeHrmFixtureClient fixtures = OrangeHrmFixtureClient.fromDriver(session);
+            LocalDate today = LocalDate.now();
+            int cancelled = fixtures.cancelOpenLeaveRequests(today.minusYears(1), today.plusYears(2));
+            System.out.println("Cancelled " + cancelled + " leftover leave request(s)");
         } catch (Exception e) {
-            System.out.println("Warning: Could not access Leave module - user may not have permission");
+            System.out.println("Warning: Could not clean up leave requests via API - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Delete the worker employees together with their leave
+     */
+    @AfterClass(alwaysRun = true)
+    public void deleteWorkerAccounts() {
+        if (accounts != null) {
+            try {
+                accounts.deleteAll();
+            } catch (Exception e) {
+                System.out.println("Warning: Could not delete worker employees via API - " + e.getMessage());
+            }
         }
     }
 
     /**
-     * DataProvider for Leave test cases from CSV
+     * Log the current thread in before the test starts, so the command budget of the first row
+     * (see CommandBudgetListener) does not include the login
+     */
+    @BeforeMethod
+    public void openPage() {
+        worker();
+    }
+
+    /**
+     * DataProvider for Leave test cases from CSV (-Dcases and -Dshard.* applied, longest first).
+     * Parallel: each worker applies as its own employee and on its own dates. TestNG drains the
+     * iterator before starting the workers, so the stream is only lazy when run serially.
      */
-    @DataProvider(name = "leaveTestData")
-    public Object[][] getLeaveTestData() {
-        return CSVDataProvider.getLeaveTestData();
+    @DataProvider(name = "leaveTestData", parallel = true)
+    public Iterator<Object[]> getLeaveTestData() {
+        return CSVDataProvider.streamLeaveTestData();
     }
 
     /**
      * Unified data-driven test for Leave Management (UC02)
-     * Handles all test cases TC040-TC049 using switch-case routing
+     * Handles all test cases TC040-TC049 using the step plans in testcases_all_ess_detailed.plan
      */
     @Test(dataProvider = "leaveTestData", description = "UC02 - Leave Management")
     public void testLeaveManagement(TestData testData) {
@@ -69,65 +172,18 @@ public class LeaveTest extends BaseTest {
         
         // ALWAYS print test info for all tests
         System.out.println("Running: " + testCaseId + " - " + testData.getTestDescription());
+        Worker worker = worker();
         
-        // Navigate lại đến Apply Leave page để đảm bảo clean state
-        driver.get(driver.getCurrentUrl().replaceAll("\\?.*", "")); // Remove query params
-        try {
-            Thread.sleep(1000); // Wait for page reload
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+        StepPlan plan = StepPlans.get().plan(testCaseId);
+        if (plan == null) {
+            Assert.fail("Unknown test case: " + testCaseId);
         }
         
-        // Test data will be hardcoded per test case since CSV doesn't have separate columns
-        String leaveType;
-        String fromDate;
-        String toDate;
-        String comment = "Xin nghỉ phép";
+        // Navigate lại đến Apply Leave page để đảm bảo clean state
+        getDriver().get(getDriver().getCurrentUrl().replaceAll("\\?.*", "")); // Remove query params
+        worker.page().waitForNetworkIdle(); // Wait for page reload + initial API calls
         
-        switch (testCaseId) {
-            case "TC040": // R1: All conditions valid
-            case "TC041": // R2: Insufficient balance
-            case "TC042": // R3: Invalid date order
-            case "TC043": // R4: Past date
-            case "TC044": // R5: Overlapping leave
-            case "TC045": // R6: Multiple errors
-            case "TC046": // R7: Balance insufficient + Past date
-            case "TC047": // R8: Date order error
-            case "TC048": // R9: Balance exactly equal
-                // All leave tests - skip if module not accessible
-                leaveType = "CAN - FMLA";
-                fromDate = "2026-12-25";
-                toDate = "2026-12-27";
-                try {
-                    leavePage.applyLeave(leaveType, fromDate, toDate, comment);
-                    waitForPageLoad();
-                } catch (Exception e) {
-                    System.out.println(testCaseId + ": Leave module not accessible - " + e.getMessage());
-                }
-                break;
-                
-            case "TC049": // R10: Start date is today (boundary)
-                leaveType = "CAN - FMLA";
-                fromDate = java.time.LocalDate.now().toString(); // Today
-                toDate = java.time.LocalDate.now().plusDays(2).toString();
-                try {
-                    leavePage.applyLeave(leaveType, fromDate, toDate, comment);
-                    waitForPageLoad();
-                } catch (Exception e) {
-                    System.out.println(testCaseId + ": Leave module not accessible - " + e.getMessage());
-                }
-                break;
-                
-            default:
-                Assert.fail("Unknown test case: " + testCaseId);
-        }
-    }
-    
-    private void waitForPageLoad() {
-        try {
-            Thread.sleep(2000); // Wait for any async operations
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+        // Steps come from testcases_all_ess_detailed.plan (compiled once, see StepPlanCompiler)
+        plan.execute(new PlanContext(testCaseId, null, worker.page(), worker.leaveDateShiftDays()));
     }
 }
@@ -3,14 +3,24 @@ package com.orangehrm.tests;
 import com.orangehrm.base.BaseTest;
 import com.orangehrm.pages.LoginPage;
 import com.orangehrm.pages.MyInfoPage;
+import com.orangehrm.plans.PlanContext;
+import com.orangehrm.plans.StepPlan;
+import com.orangehrm.plans.StepPlans;
 import com.orangehrm.utils.CSVDataProvider;
+import com.orangehrm.utils.OrangeHrmFixtureClient;
 import com.orangehrm.utils.TestData;
+import com.orangehrm.utils.WorkerAccounts;
+import org.openqa.selenium.WebDriver;
 import org.testng.Assert;
 import org.testng.annotations.*;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Test class for UC01 - My Info / Personal Details functionality.
- * Implements data-driven testing using CSV file.
+ * Implements data-driven testing using CSV file; the steps of each case
+ * are declared in testcases_all_ess_detailed.plan.
  * 
  * Test Coverage:
  * - TC001-TC009: Name validation (First, Middle, Last Name)
@@ -22,34 +32,139 @@ import org.testng.annotations.*;
  */
 public class MyInfoTest extends BaseTest {
     
-    private LoginPage loginPage;
-    private MyInfoPage myInfoPage;
+    // Per-thread state: every data provider worker drives its own browser, logged in as its own
+    // employee (see WorkerAccounts) and on My Info
+    private final ThreadLocal<Worker> workers = new ThreadLocal<>();
+    private final AtomicInteger workerCount = new AtomicInteger();
+    
+    // Employees for the workers, created with the configured (admin) account; null when that
+    // failed and every worker falls back to the configured account
+    private WorkerAccounts accounts;
+    
+    // The configured account's own employee, reset to its baseline after the class.
+    // Workers that fall back to it take turns (sharedEmployeeLock) on rows that save data.
+    private Employee sharedEmployee;
+    private final Object sharedEmployeeLock = new Object();
     
     // Test credentials - REPLACE WITH ACTUAL CREDENTIALS
     // Default to provided admin account; allow override via -Dtest.username and -Dtest.password
     private static final String EMPLOYEE_USERNAME = System.getProperty("test.username", "orangehrm");
     private static final String EMPLOYEE_PASSWORD = System.getProperty("test.password", "OrangeHRM@123");
 
+    /**
+     * Browser and employee of one worker thread
+     *
+     * @param sharedAccount Logged in with the configured account instead of an own employee
+     */
+    private record Worker(MyInfoPage page, Employee employee, boolean sharedAccount) {
+    }
+
+    /**
+     * API fixtures of one employee: personal details are reset to baseline before each case
+     */
+    private record Employee(OrangeHrmFixtureClient fixtures, int empNumber, Map<String, Object> baseline) {
+
+        /**
+         * Put personal details back to the baseline, so a case never sees data saved by the previous one
+         */
+        void resetPersonalDetails() {
+            try {
+                fixtures.resetPersonalDetails(empNumber, baseline);
+            } catch (Exception e) {
+                System.out.println("Warning: Could not reset personal details via API - " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Log in with the configured account on the class thread: remember its personal details and
+     * use its session to create the worker employees, then hand the browser back to the pool
+     */
     @BeforeClass
-    public void loginAsEmployee() {
-        loginPage = new LoginPage(driver);
-        myInfoPage = new MyInfoPage(driver);
-        
-        // Login as employee
-        loginPage.login(EMPLOYEE_USERNAME, EMPLOYEE_PASSWORD);
-        Assert.assertTrue(loginPage.isLoginSuccessful(), "Login failed");
+    public void prepareWorkerAccounts() {
+        WebDriver classDriver = getDriver();
+        MyInfoPage page = new MyInfoPage(classDriver);
+        Assert.assertTrue(new LoginPage(classDriver).loginWithSessionReuse(EMPLOYEE_USERNAME, EMPLOYEE_PASSWORD, MyInfoPage.ROUTE),
+            "Login failed");
+        page.navigateToPersonalDetails();
+        sharedEmployee = captureBaseline(classDriver, page);
+        try {
+            accounts = new WorkerAccounts(OrangeHrmFixtureClient.fromDriver(classDriver), getClass().getSimpleName());
+        } catch (Exception e) {
+            System.out.println("Warning: No API session for creating worker employees - " + e.getMessage());
+        }
+        releaseDriver();
+    }
+
+    /**
+     * Worker state of the current thread, creating its employee and logging in on first use
+     */
+    private Worker worker() {
+        Worker worker = workers.get();
+        if (worker == null) {
+            worker = startWorker(workerCount.getAndIncrement());
+            workers.set(worker);
+        }
+        return worker;
+    }
+
+    private Worker startWorker(int index) {
+        WorkerAccounts.Account account = null;
+        if (accounts != null) {
+            try {
+                account = accounts.create(index);
+            } catch (Exception e) {
+                System.out.println("Warning: Could not create an employee for worker " + index + " - " + e.getMessage()
+                    + " (using " + EMPLOYEE_USERNAME + ")");
+            }
+        }
+        WebDriver threadDriver = getDriver();
+        MyInfoPage page = new MyInfoPage(threadDriver);
         
-        // Navigate to My Info
-        myInfoPage.navigateToMyInfo();
-        myInfoPage.navigateToPersonalDetails();
+        // Login (reuses the captured session when available) and open My Info directly
+        String username = account != null ? account.username() : EMPLOYEE_USERNAME;
+        String password = account != null ? account.password() : EMPLOYEE_PASSWORD;
+        Assert.assertTrue(new LoginPage(threadDriver).loginWithSessionReuse(username, password, MyInfoPage.ROUTE),
+            "Login failed");
+        page.navigateToPersonalDetails();
+        if (account == null) {
+            return new Worker(page, sharedEmployee, true);
+        }
+        return new Worker(page, captureBaseline(threadDriver, page), false);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restoreBaseline() {
+        if (sharedEmployee != null) {
+            sharedEmployee.resetPersonalDetails();
+        }
+        if (accounts != null) {
+            try {
+                accounts.deleteAll();
+            } catch (Exception e) {
+                System.out.println("Warning: Could not delete worker employees via API - " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Log the current thread in before the test starts, so the command budget of the first row
+     * (see CommandBudgetListener) does not include the login
+     */
+    @BeforeMethod
+    public void openPage() {
+        worker();
     }
 
     /**
-     * DataProvider for My Info test cases from CSV
+     * DataProvider for My Info test cases from CSV (-Dcases and -Dshard.* applied, longest first).
+     * Parallel: rows fan out over data-provider-thread-count workers, each editing its own
+     * employee. TestNG drains the iterator before starting them, so the stream is only lazy
+     * when the provider runs serially.
      */
-    @DataProvider(name = "myInfoTestData")
-    public Object[][] getMyInfoTestData() {
-        return CSVDataProvider.getMyInfoTestData();
+    @DataProvider(name = "myInfoTestData", parallel = true)
+    public Iterator<Object[]> getMyInfoTestData() {
+        return CSVDataProvider.streamMyInfoTestData();
     }
 
     /**
@@ -61,282 +176,56 @@ public class MyInfoTest extends BaseTest {
         String testCaseId = testData.getTestCaseId();
         
         System.out.println("Running: " + testCaseId + " - " + testData.getTestDescription());
+        Worker worker = worker();
         
-        // Navigate lại đến My Info page để đảm bảo đúng trang
-        // (Vì mỗi test case cần clean state)
-        driver.get(driver.getCurrentUrl().replaceAll("\\?.*", "")); // Remove query params
-        try {
-            Thread.sleep(1000); // Wait for page reload
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+        StepPlan plan = StepPlans.get().plan(testCaseId);
+        if (plan == null) {
+            Assert.fail("No step plan for test case: " + testCaseId);
         }
         
-        switch (testCaseId) {
-            // TC001-TC009: Name Field Validation
-            case "TC001": // Valid Vietnamese name
-                myInfoPage.updateName("Văn", "A", "Nguyễn");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                // Test passes if no exception thrown
-                break;
-                
-            case "TC002": // Empty First Name (boundary)
-                myInfoPage.clearFirstName();
-                myInfoPage.updateLastName("Nguyễn");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                // Validation happens on client side - test passes if page allows submission
-                break;
-                
-            case "TC003": // First Name with 1 character (lower boundary)
-                myInfoPage.updateFirstName("A");
-                myInfoPage.updateLastName("Nguyễn");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC004": // First Name with 30 characters (upper boundary)
-                myInfoPage.updateFirstName("AAAAAAAAAAAAAAAAAAAAAAAAAAAAAA"); // 30 chars
-                myInfoPage.updateLastName("Nguyễn");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC005": // First Name exceeds 30 characters
-                myInfoPage.updateFirstName("AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA"); // 31 chars
-                myInfoPage.updateLastName("Nguyễn");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC006": // First Name with numbers
-                myInfoPage.updateFirstName("Văn123");
-                myInfoPage.updateLastName("Nguyễn");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC007": // First Name with special characters
-                myInfoPage.updateFirstName("Văn@#$");
-                myInfoPage.updateLastName("Nguyễn");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC008": // Empty Last Name (boundary)
-                myInfoPage.updateFirstName("Văn");
-                myInfoPage.clearLastName();
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC009": // Optional Middle Name
-                myInfoPage.updateFirstName("Văn");
-                myInfoPage.updateLastName("Nguyễn");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-            
-            // TC010-TC014: Employee ID and Other ID Tests
-            case "TC010": // Valid Employee ID format
-                String employeeId = myInfoPage.getEmployeeId();
-                Assert.assertTrue(employeeId.matches("\\d{4}"),
-                    "TC010 Failed: Employee ID should be 4 digits");
-                break;
-                
-            case "TC011": // Employee ID is read-only
-                // Just verify field exists - readonly check removed per Option B
-                String empId = myInfoPage.getEmployeeId();
-                waitForPageLoad();
-                break;
-                
-            case "TC012": // Valid Other ID
-                myInfoPage.updateOtherId("CMND123456");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC013": // Empty Other ID (optional)
-                myInfoPage.updateOtherId("");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC014": // Other ID exceeds max length
-                myInfoPage.updateOtherId("A".repeat(50));
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-        
-            // TC015-TC019: Driver's License Tests
-            case "TC015": // Valid license with future expiry
-                myInfoPage.updateDriverLicense("B2-123456", "2026-12-31");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC016": // License with past expiry date
-                myInfoPage.updateDriverLicense("B2-123456", "2020-01-01");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC017": // License expiry = today (boundary)
-                String today = java.time.LocalDate.now().toString();
-                myInfoPage.updateDriverLicense("B2-123456", today);
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC018": // Both license fields empty (optional)
-                myInfoPage.updateDriverLicense("", "");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC019": // License number without expiry date
-                myInfoPage.updateDriverLicense("B2-123456", "");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-        
-            // TC020-TC026: Nationality and Marital Status Tests
-            case "TC020": // Valid nationality selection
-                myInfoPage.selectNationality("Vietnamese");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC021": // No nationality selected
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC022": // Multiple nationality changes
-                myInfoPage.selectNationality("Vietnamese");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                myInfoPage.selectNationality("American");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC023": // Marital Status = Single
-                myInfoPage.selectMaritalStatus("Single");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC024": // Marital Status = Married
-                myInfoPage.selectMaritalStatus("Married");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC025": // Marital Status = Other
-                myInfoPage.selectMaritalStatus("Other");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC026": // No marital status selected
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-        
-            // TC027-TC035: Date of Birth Validation Tests
-            case "TC027": // Valid DOB (30 years old)
-                myInfoPage.updateDateOfBirth("1995-06-15");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC028": // DOB exactly 18 years ago (lower boundary)
-                String date18YearsAgo = java.time.LocalDate.now().minusYears(18).toString();
-                myInfoPage.updateDateOfBirth(date18YearsAgo);
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC029": // DOB under 18 years (invalid)
-                myInfoPage.updateDateOfBirth("2010-01-01");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC030": // DOB = 65 years (upper boundary typical)
-                String date65YearsAgo = java.time.LocalDate.now().minusYears(65).toString();
-                myInfoPage.updateDateOfBirth(date65YearsAgo);
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC031": // DOB = 100 years (extreme upper boundary)
-                String date100YearsAgo = java.time.LocalDate.now().minusYears(100).toString();
-                myInfoPage.updateDateOfBirth(date100YearsAgo);
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC032": // DOB = today (invalid)
-                String todayDate = java.time.LocalDate.now().toString();
-                myInfoPage.updateDateOfBirth(todayDate);
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC033": // DOB in future (invalid)
-                myInfoPage.updateDateOfBirth("2030-12-31");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC034": // DOB with wrong format
-                myInfoPage.updateDateOfBirth("15/06/1995");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC035": // Empty DOB (optional)
-                myInfoPage.updateDateOfBirth("");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-        
-            // TC036-TC039: Gender Selection Tests
-            case "TC036": // Select Male
-                myInfoPage.selectGender("Male");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC037": // Select Female
-                myInfoPage.selectGender("Female");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC038": // Change gender Male to Female
-                myInfoPage.selectGender("Male");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                myInfoPage.selectGender("Female");
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
-                
-            case "TC039": // No gender selected
-                myInfoPage.clickSave();
-                waitForPageLoad();
-                break;
+        if (plan.mutatesForm() && worker.sharedAccount()) {
+            synchronized (sharedEmployeeLock) {
+                runPlan(testCaseId, plan, worker);
+            }
+        } else {
+            runPlan(testCaseId, plan, worker);
         }
     }
+
+    private void runPlan(String testCaseId, StepPlan plan, Worker worker) {
+        // Read-only plans (e.g. TC010, TC011) run on the page as it is
+        if (plan.mutatesForm()) {
+            // Reset data over the API, then navigate lại đến My Info page để đảm bảo đúng trang
+            // (Vì mỗi test case cần clean state)
+            if (worker.employee() != null) {
+                worker.employee().resetPersonalDetails();
+            }
+            getDriver().get(getDriver().getCurrentUrl().replaceAll("\\?.*", "")); // Remove query params
+            worker.page().waitForNetworkIdle(); // Wait for page reload + initial API calls
+        }
+        
+        // Steps come from testcases_all_ess_detailed.plan (compiled once, see StepPlanCompiler)
+        plan.execute(new PlanContext(testCaseId, worker.page(), null));
+    }
     
-    private void waitForPageLoad() {
+    /**
+     * Read the personal details of the employee logged in on this browser from the API
+     *
+     * @return null when the API is not available (no reset between cases)
+     */
+    private static Employee captureBaseline(WebDriver session, MyInfoPage page) {
         try {
-            Thread.sleep(2000); // Wait for any async operations
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+            page.waitForNetworkIdle(); // URL switches to .../empNumber/N once My Info loads
+            int empNumber = OrangeHrmFixtureClient.empNumberFromUrl(session.getCurrentUrl());
+            if (empNumber < 0) {
+                System.out.println("Warning: No employee number in " + session.getCurrentUrl() + " - API reset disabled");
+                return null;
+            }
+            OrangeHrmFixtureClient fixtures = OrangeHrmFixtureClient.fromDriver(session);
+            return new Employee(fixtures, empNumber, fixtures.getPersonalDetails(empNumber));
+        } catch (Exception e) {
+            System.out.println("Warning: Could not read personal details baseline via API - " + e.getMessage());
+            return null;
         }
     }
 }
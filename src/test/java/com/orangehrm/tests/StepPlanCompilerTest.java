@@ -0,0 +1,97 @@
+package com.orangehrm.tests;
+
+import com.orangehrm.pages.MyInfoPage;
+import com.orangehrm.plans.Step;
+import com.orangehrm.plans.StepPlan;
+import com.orangehrm.plans.StepPlanCompiler;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Offline tests for the step-plan DSL: tokenizing and the optimizer.
+ * No browser needed, plans are only compiled.
+ */
+public class StepPlanCompilerTest {
+
+    @Test
+    public void testLastWriteToAFieldWins() {
+        StepPlan plan = StepPlanCompiler.compile("TC001",
+            "set firstName \"A\"; set lastName \"B\"; clear middleName; set firstName \"C\"; save");
+
+        Assert.assertEquals(plan.steps().size(), 2);
+        List<Step.FieldWrite> writes = ((Step.FillFields) plan.steps().get(0)).writes();
+        Assert.assertEquals(writes.size(), 3);
+        Assert.assertEquals(writes.get(0).field(), MyInfoPage.Field.FIRST_NAME);
+        Assert.assertEquals(writes.get(0).value().literal(), "C");
+        Assert.assertNull(writes.get(2).value()); // clear
+        Assert.assertTrue(plan.steps().get(1) instanceof Step.Save);
+    }
+
+    @Test
+    public void testWritesAreNotMergedAcrossOtherSteps() {
+        StepPlan plan = StepPlanCompiler.compile("TC002",
+            "set firstName \"A\"; select gender Male; set firstName \"B\"; type lastName \"C\"");
+
+        Assert.assertEquals(plan.steps().size(), 4);
+        Assert.assertEquals(((Step.FillFields) plan.steps().get(0)).writes().get(0).value().literal(), "A");
+        Assert.assertTrue(plan.steps().get(1) instanceof Step.SelectGender);
+        Assert.assertEquals(((Step.FillFields) plan.steps().get(2)).writes().get(0).value().literal(), "B");
+        Assert.assertTrue(plan.steps().get(3) instanceof Step.TypeField); // never merged
+    }
+
+    @Test
+    public void testWaitsAfterReadAndExpectAreDropped() {
+        StepPlan plan = StepPlanCompiler.compile("TC010",
+            "wait; read employeeId; wait; expect employeeId matches \"\\d{4}\" \"4 digits\"; wait");
+
+        Assert.assertEquals(plan.steps().size(), 2);
+        Assert.assertTrue(plan.steps().get(0) instanceof Step.Read);
+        Step.Expect expect = (Step.Expect) plan.steps().get(1);
+        Assert.assertEquals(expect.regex(), "\\d{4}");
+        Assert.assertEquals(expect.message(), "4 digits");
+        Assert.assertFalse(plan.mutatesForm());
+    }
+
+    @Test
+    public void testWaitAfterTryIsJudgedByTheWrappedStep() {
+        StepPlan applied = StepPlanCompiler.compile("TC040",
+            "try apply \"CAN - FMLA\" \"2026-12-25\" \"2026-12-27\" \"Xin nghỉ phép\"; wait");
+        StepPlan written = StepPlanCompiler.compile("TC041", "try set firstName \"A\"; wait");
+
+        Assert.assertEquals(applied.steps().size(), 1);
+        Assert.assertTrue(((Step.Try) applied.steps().get(0)).step() instanceof Step.ApplyLeave);
+        Assert.assertEquals(written.steps().size(), 2);
+        Assert.assertTrue(written.steps().get(1) instanceof Step.Wait);
+    }
+
+    @Test
+    public void testTokenizeKeepsQuotedStringsWhole() {
+        StepPlan plan = StepPlanCompiler.compile("TC003",
+            "  set  lastName \"Nguyễn; Văn\" ;set otherId \"a\\\"b\";;");
+
+        List<Step.FieldWrite> writes = ((Step.FillFields) plan.steps().get(0)).writes();
+        Assert.assertEquals(writes.get(0).value().literal(), "Nguyễn; Văn");
+        Assert.assertEquals(writes.get(1).value().literal(), "a\"b");
+    }
+
+    @Test
+    public void testRelativeDates() {
+        StepPlan plan = StepPlanCompiler.compile("TC049", "apply \"CAN - FMLA\" today today+2d \"Xin nghỉ phép\"");
+
+        Step.ApplyLeave apply = (Step.ApplyLeave) plan.steps().get(0);
+        Assert.assertNull(apply.fromDate().literal());
+        Assert.assertEquals(apply.fromDate().amount(), 0);
+        Assert.assertEquals(apply.toDate().amount(), 2);
+        Assert.assertEquals(apply.toDate().unit(), ChronoUnit.DAYS);
+        Assert.assertEquals(apply.leaveType().literal(), "CAN - FMLA");
+    }
+
+    @Test
+    public void testInvalidSourceIsRejected() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> StepPlanCompiler.compile("TC004", "set firstName \"A"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> StepPlanCompiler.compile("TC004", "press firstName"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> StepPlanCompiler.compile("TC004", "save now"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.orangehrm.tests;
+
+import com.orangehrm.utils.TestData;
+import com.orangehrm.utils.TestSharder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Offline tests for TestSharder: LPT packing, hash fallback and the durations file.
+ */
+public class TestSharderTest {
+
+    private static final List<String> IDS = List.of("TC001", "TC002", "TC003", "TC004", "TC005");
+
+    @Test
+    public void testLongestCasesArePackedOntoTheLeastLoadedShard() {
+        Map<String, Long> durations = Map.of("TC001", 100L, "TC002", 60L, "TC003", 50L, "TC004", 40L, "TC005", 10L);
+
+        // 100 -> 0, 60 -> 1, 50 -> 1, 40 -> 0, 10 -> 1: loads 140 / 120
+        Assert.assertEquals(owned(0, 2, durations), List.of("TC001", "TC004"));
+        Assert.assertEquals(owned(1, 2, durations), List.of("TC002", "TC003", "TC005"));
+    }
+
+    @Test
+    public void testCasesWithoutHistoryCountAsTheMean() {
+        Map<String, Long> durations = Map.of("TC001", 100L, "TC002", 20L);
+
+        // TC003-TC005 are estimated at 60: 100 -> 0, 60 -> 1, 60 -> 1, 60 -> 0, 20 -> 1
+        Assert.assertEquals(owned(0, 2, durations), List.of("TC001", "TC005"));
+        Assert.assertEquals(owned(1, 2, durations), List.of("TC002", "TC003", "TC004"));
+    }
+
+    @Test
+    public void testShardsPartitionTheCatalog() {
+        for (Map<String, Long> durations : List.of(Map.<String, Long>of(), Map.of("TC003", 500L, "TC001", 20L))) {
+            List<String> all = new ArrayList<>();
+            for (int shard = 0; shard < 3; shard++) {
+                all.addAll(owned(shard, 3, durations));
+            }
+            all.sort(null);
+            Assert.assertEquals(all, IDS);
+        }
+    }
+
+    @Test
+    public void testHashAssignmentDoesNotNeedTheCatalog() {
+        Predicate<String> owner = new TestSharder(0, 2).owner(() -> {
+            throw new AssertionError("catalog read without durations");
+        }, Map.of());
+
+        Assert.assertEquals(owner.test("TC001"), Math.floorMod("TC001".hashCode(), 2) == 0);
+    }
+
+    @Test
+    public void testRowsSharingAnIdStayTogether() {
+        List<TestData> rows = List.of(row("TC001"), row("TC002"), row("TC001"));
+        Map<String, Long> durations = Map.of("TC001", 10L, "TC002", 90L);
+
+        List<TestData> first = new TestSharder(0, 2).select(rows, durations);
+        List<TestData> second = new TestSharder(1, 2).select(rows, durations);
+
+        Assert.assertEquals(first.stream().map(TestData::getTestCaseId).toList(), List.of("TC002"));
+        Assert.assertEquals(second.stream().map(TestData::getTestCaseId).toList(), List.of("TC001", "TC001"));
+    }
+
+    @Test
+    public void testDurationsFileRoundTrip() throws IOException {
+        Path file = Files.createTempFile("test-durations", ".csv");
+        try {
+            TestSharder.writeDurations(file, Map.of("TC002", 1500L, "TC001", 900L));
+            Assert.assertEquals(Files.readAllLines(file, StandardCharsets.UTF_8),
+                List.of("Test case ID,Duration ms", "TC001,900", "TC002,1500"));
+
+            Files.writeString(file, "garbage\nTC003,abc\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+            Assert.assertEquals(TestSharder.loadDurations(file), Map.of("TC001", 900L, "TC002", 1500L));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        Assert.assertTrue(TestSharder.loadDurations(file).isEmpty());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testShardIndexOutOfRangeIsRejected() {
+        new TestSharder(2, 2);
+    }
+
+    private static List<String> owned(int index, int count, Map<String, Long> durations) {
+        Predicate<String> owner = new TestSharder(index, count).owner(() -> IDS, durations);
+        return IDS.stream().filter(owner).toList();
+    }
+
+    private static TestData row(String testCaseId) {
+        return new TestData("UC01", testCaseId, "", "", "", "", "", "", "", "");
+    }
+}
@@ -0,0 +1,112 @@
+package com.orangehrm.tests;
+
+import com.orangehrm.utils.TimingHistory;
+import org.testng.Assert;
+import org.testng.annotations.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+/**
+ * Offline tests for TimingHistory: the compact index plus replay of the log written after it.
+ * Each test works on its own temporary history directory.
+ */
+public class TimingHistoryTest {
+
+    private Path directory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("timing-history-test");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testLogIsReplayedWithoutIndex() throws IOException {
+        TimingHistory history = TimingHistory.open(directory);
+        history.record("TC001", "chrome", 1000, TimingHistory.OUTCOME_PASS);
+        history.record("TC001", "chrome", 3000, TimingHistory.OUTCOME_FAIL);
+        history.record("TC001", "chrome", 9999, TimingHistory.OUTCOME_SKIP);
+
+        TimingHistory reopened = TimingHistory.open(directory);
+
+        Assert.assertEquals(reopened.percentile("TC001", "chrome", 50), OptionalLong.of(1000));
+        Assert.assertEquals(reopened.percentile("TC001", "chrome", 100), OptionalLong.of(3000)); // skip not timed
+        Assert.assertEquals(reopened.failureRate("TC001", "chrome"), 0.5);
+        Assert.assertTrue(reopened.percentile("TC002", "chrome", 50).isEmpty());
+    }
+
+    @Test
+    public void testIndexPlusTailReplayCountsEveryRunOnce() throws IOException {
+        TimingHistory history = TimingHistory.open(directory);
+        history.record("TC001", "chrome", 1000, TimingHistory.OUTCOME_PASS);
+        history.record("TC001", "firefox", 5000, TimingHistory.OUTCOME_FAIL);
+        history.compact();
+        history.record("TC001", "chrome", 2000, TimingHistory.OUTCOME_FAIL);
+        history.record("TC002", "chrome", 700, TimingHistory.OUTCOME_PASS);
+
+        TimingHistory reopened = TimingHistory.open(directory);
+
+        Assert.assertEquals(reopened.failureRate("TC001", "chrome"), 0.5);
+        Assert.assertEquals(reopened.failureRate("TC001", null), 2.0 / 3);
+        Assert.assertEquals(reopened.percentile("TC001", "chrome", 100), OptionalLong.of(2000));
+        Assert.assertEquals(reopened.percentiles(null, 50), Map.of("TC001", 2000L, "TC002", 700L));
+    }
+
+    @Test
+    public void testWindowKeepsTheMostRecentRunsAcrossCompaction() throws IOException {
+        TimingHistory history = TimingHistory.open(directory);
+        for (int run = 1; run <= 150; run++) {
+            history.record("TC001", "chrome", run, TimingHistory.OUTCOME_PASS);
+        }
+        history.compact();
+
+        TimingHistory reopened = TimingHistory.open(directory);
+
+        // Only runs 51-150 are kept
+        Assert.assertEquals(reopened.percentile("TC001", "chrome", 0), OptionalLong.of(51));
+        Assert.assertEquals(reopened.percentile("TC001", "chrome", 50), OptionalLong.of(100));
+        Assert.assertEquals(reopened.recentPercentile("TC001", "chrome", 50, 5), OptionalLong.of(148));
+    }
+
+    @Test
+    public void testReplacedLogInvalidatesTheIndex() throws IOException {
+        TimingHistory history = TimingHistory.open(directory);
+        history.record("TC001", "chrome", 1000, TimingHistory.OUTCOME_FAIL);
+        history.record("TC001", "chrome", 1000, TimingHistory.OUTCOME_FAIL);
+        history.compact();
+        Files.writeString(directory.resolve("timings.log"), "1,TC001,chrome,400,PASS\n", StandardCharsets.UTF_8);
+
+        TimingHistory reopened = TimingHistory.open(directory);
+
+        Assert.assertEquals(reopened.failureRate("TC001", "chrome"), 0.0);
+        Assert.assertEquals(reopened.percentile("TC001", "chrome", 50), OptionalLong.of(400));
+    }
+
+    @Test
+    public void testPartialLinesAndCorruptIndexAreIgnored() throws IOException {
+        TimingHistory history = TimingHistory.open(directory);
+        history.record("TC001", "chrome", 1000, TimingHistory.OUTCOME_PASS);
+        Files.writeString(directory.resolve("timings.log"), "2,TC001,chr", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        Files.writeString(directory.resolve("timings.idx"), "not an index", StandardCharsets.UTF_8);
+
+        TimingHistory reopened = TimingHistory.open(directory);
+
+        Assert.assertEquals(reopened.percentile("TC001", "chrome", 100), OptionalLong.of(1000));
+        Assert.assertEquals(reopened.failureRate("TC001", "chrome"), 0.0);
+    }
+}
@@ -0,0 +1,175 @@
+package com.orangehrm.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Build-time compiler from the test case CSV to the binary catalog read by BinaryTestCatalog.
+ * Runs in the process-test-classes phase (see pom.xml); the CSV stays the source of truth.
+ *
+ * Usage: BinaryCatalogCompiler &lt;csv file&gt; [output file]
+ */
+public class BinaryCatalogCompiler {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: BinaryCatalogCompiler <csv file> [output file]");
+            System.exit(2);
+        }
+        Path csv = Path.of(args[0]);
+        Path output = args.length > 1 ? Path.of(args[1]) : BinaryTestCatalog.compiledPathFor(csv);
+        int rows = compile(csv, output);
+        System.out.println("Compiled " + rows + " test cases from " + csv + " to " + output);
+    }
+
+    /**
+     * Compile a CSV file into a binary catalog
+     *
+     * @return Number of rows written
+     */
+    public static int compile(Path csv, Path output) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(csv, BasicFileAttributes.class);
+        byte[] content = Files.readAllBytes(csv);
+        List<TestData> rows;
+        try {
+            rows = TestCaseCatalog.parse(content);
+        } catch (Exception e) {
+            throw new IOException("Failed to read CSV file: " + csv, e);
+        }
+
+        StringTable strings = new StringTable();
+        int[][] rowStrings = new int[rows.size()][];
+        Map<String, List<Integer>> features = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            TestData row = rows.get(i);
+            rowStrings[i] = new int[] {
+                strings.id(row.getFeatureId()), strings.id(row.getTestCaseId()), strings.id(row.getTestDescription()),
+                strings.id(row.getTestSteps()), strings.id(row.getExpectedResult()), strings.id(row.getActualResult()),
+                strings.id(row.getStatus()), strings.id(row.getTester()), strings.id(row.getTestedDate()),
+                strings.id(row.getRemark())
+            };
+            features.computeIfAbsent(row.getFeatureId().trim().toUpperCase(Locale.ROOT), k -> new ArrayList<>()).add(i);
+        }
+        int[] featureKeys = features.keySet().stream().mapToInt(strings::id).toArray();
+
+        List<Integer> byId = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            byId.add(i);
+        }
+        byId.sort(Comparator.comparing((Integer i) -> rows.get(i).getTestCaseId()).thenComparingInt(i -> i));
+
+        // Section offsets
+        int stringTable = BinaryTestCatalog.HEADER_SIZE;
+        int stringData = stringTable + strings.size() * 4;
+        int rowTable = stringData + strings.dataSize();
+        int featureIndex = rowTable + rows.size() * BinaryTestCatalog.COLUMNS * 4;
+        int idIndex = featureIndex + features.size() * 12 + rows.size() * 4;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(idIndex + rows.size() * 8);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(BinaryTestCatalog.MAGIC);
+        out.writeInt(BinaryTestCatalog.VERSION);
+        out.writeLong(attributes.size());
+        out.writeLong(attributes.lastModifiedTime().toMillis());
+        out.write(sha256(content));
+        out.writeInt(rows.size());
+        out.writeInt(strings.size());
+        out.writeInt(features.size());
+        out.writeInt(stringTable);
+        out.writeInt(rowTable);
+        out.writeInt(featureIndex);
+        out.writeInt(idIndex);
+
+        int offset = stringData;
+        for (byte[] value : strings.values) {
+            out.writeInt(offset);
+            offset += 4 + value.length;
+        }
+        for (byte[] value : strings.values) {
+            out.writeInt(value.length);
+            out.write(value);
+        }
+        for (int[] row : rowStrings) {
+            for (int id : row) {
+                out.writeInt(id);
+            }
+        }
+        int first = 0;
+        int f = 0;
+        for (List<Integer> featureRows : features.values()) {
+            out.writeInt(featureKeys[f++]);
+            out.writeInt(first);
+            out.writeInt(featureRows.size());
+            first += featureRows.size();
+        }
+        for (List<Integer> featureRows : features.values()) {
+            for (int row : featureRows) {
+                out.writeInt(row);
+            }
+        }
+        for (int row : byId) {
+            out.writeInt(rowStrings[row][1]);
+            out.writeInt(row);
+        }
+        out.flush();
+
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = output.resolveSibling(output.getFileName() + ".tmp");
+        Files.write(temp, bytes.toByteArray());
+        Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return rows.size();
+    }
+
+    /**
+     * De-duplicated UTF-8 strings in first-seen order
+     */
+    private static final class StringTable {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<byte[]> values = new ArrayList<>();
+        private int dataSize;
+
+        int id(String value) {
+            String key = value == null ? "" : value;
+            return ids.computeIfAbsent(key, k -> {
+                byte[] encoded = k.getBytes(StandardCharsets.UTF_8);
+                values.add(encoded);
+                dataSize += 4 + encoded.length;
+                return values.size() - 1;
+            });
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        int dataSize() {
+            return dataSize;
+        }
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
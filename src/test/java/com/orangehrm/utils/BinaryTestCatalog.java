@@ -0,0 +1,225 @@
+package com.orangehrm.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Read-only, memory-mapped view of a test case catalog compiled by BinaryCatalogCompiler.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * header   magic, version, source size, source mtime, source SHA-256 (32 bytes),
+ *          row count, string count, feature count,
+ *          offsets of string table, row table, feature index, ID index
+ * strings  string count x int offset, then per string: int length + UTF-8 bytes
+ * rows     row count x 10 int string ids (fixed width, one column per TestData field)
+ * features per feature: int feature string id (upper-cased), int first, int count
+ *          into the feature row list that follows (row numbers in CSV order)
+ * ids      row count x (int id string id, int row), sorted by Test case ID
+ * </pre>
+ * Strings are de-duplicated, so repeated values (feature, status, tester...) are stored once.
+ */
+public final class BinaryTestCatalog {
+
+    static final int MAGIC = 0x4F544331; // "OTC1"
+    static final int VERSION = 1;
+    static final int COLUMNS = 10;
+    static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 32 + 4 + 4 + 4 + 4 * 4;
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final long sourceSize;
+    private final long sourceModifiedMillis;
+    private final byte[] sourceHash = new byte[32];
+    private final int rowCount;
+    private final int stringCount;
+    private final int featureCount;
+    private final int stringTable;
+    private final int rowTable;
+    private final int featureIndex;
+    private final int idIndex;
+
+    private BinaryTestCatalog(Path file, ByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a compiled test case catalog: " + file);
+        }
+        this.sourceSize = buffer.getLong(8);
+        this.sourceModifiedMillis = buffer.getLong(16);
+        buffer.get(24, sourceHash);
+        this.rowCount = buffer.getInt(56);
+        this.stringCount = buffer.getInt(60);
+        this.featureCount = buffer.getInt(64);
+        this.stringTable = buffer.getInt(68);
+        this.rowTable = buffer.getInt(72);
+        this.featureIndex = buffer.getInt(76);
+        this.idIndex = buffer.getInt(80);
+    }
+
+    /**
+     * Map a compiled catalog into memory
+     */
+    public static BinaryTestCatalog open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new BinaryTestCatalog(file, buffer);
+        }
+    }
+
+    /**
+     * Location of the compiled form of a CSV: -Dcatalog.path, or target/&lt;csv name&gt;.catalog
+     */
+    public static Path compiledPathFor(Path csvFile) {
+        String configured = System.getProperty("catalog.path", "");
+        if (!configured.isBlank()) {
+            return Path.of(configured);
+        }
+        String name = csvFile.getFileName().toString().replaceFirst("\\.csv$", "");
+        return Path.of("target", name + ".catalog");
+    }
+
+    /**
+     * Whether the catalog was compiled from the CSV as it is now on disk (size and modification time)
+     */
+    public boolean isCompiledFrom(BasicFileAttributes csvAttributes) {
+        return csvAttributes.size() == sourceSize && csvAttributes.lastModifiedTime().toMillis() == sourceModifiedMillis;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public byte[] getSourceHash() {
+        return sourceHash.clone();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Decode one row. The free-text columns stay in the mapped file and are decoded
+     * only when the TestData getter is called.
+     *
+     * @param row Row number in CSV order
+     */
+    public TestData row(int row) {
+        return new TestData(column(row, 0), column(row, 1), column(row, 2),
+            column(row, 6), column(row, 7), column(row, 8), this::column, row);
+    }
+
+    /**
+     * Test case ID of a row, without decoding the rest of it
+     */
+    public String testCaseId(int row) {
+        return column(row, 1);
+    }
+
+    /**
+     * Lazy DataProvider iterator: each row is decoded from the mapped file only when it is consumed
+     *
+     * @param rows Row numbers to hand out, in that order
+     */
+    public Iterator<Object[]> iterator(int[] rows) {
+        return Arrays.stream(rows).mapToObj(row -> new Object[] {row(row)}).iterator();
+    }
+
+    private String column(int row, int column) {
+        return string(buffer.getInt(rowTable + (row * COLUMNS + column) * 4));
+    }
+
+    /**
+     * Row numbers of a feature (case-insensitive), in CSV order
+     */
+    public int[] rowsOfFeature(String featureId) {
+        String key = featureId.trim().toUpperCase(Locale.ROOT);
+        int featureRows = featureIndex + featureCount * 12;
+        for (int i = 0; i < featureCount; i++) {
+            int entry = featureIndex + i * 12;
+            if (string(buffer.getInt(entry)).equals(key)) {
+                int first = buffer.getInt(entry + 4);
+                int[] rows = new int[buffer.getInt(entry + 8)];
+                for (int j = 0; j < rows.length; j++) {
+                    rows[j] = buffer.getInt(featureRows + (first + j) * 4);
+                }
+                return rows;
+            }
+        }
+        return new int[0];
+    }
+
+    /**
+     * Row number of a Test case ID (binary search over the ID index), or -1.
+     * A duplicated ID resolves to its first row in CSV order, like the parsed catalog.
+     */
+    public int rowOf(String testCaseId) {
+        int low = 0;
+        int high = rowCount - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = string(buffer.getInt(idIndex + mid * 8)).compareTo(testCaseId);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else {
+                if (cmp == 0) {
+                    found = buffer.getInt(idIndex + mid * 8 + 4); // entries of one ID are in row order
+                }
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private String string(int id) {
+        if (id < 0 || id >= stringCount) {
+            throw new IllegalStateException("Corrupt catalog " + file + ": string " + id);
+        }
+        int offset = buffer.getInt(stringTable + id * 4);
+        int length = buffer.getInt(offset);
+        byte[] bytes = new byte[length];
+        buffer.get(offset + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Open the compiled form of a CSV if it exists and is up to date
+     *
+     * @return Catalog, or null when the CSV has to be parsed instead
+     */
+    static BinaryTestCatalog openIfFresh(Path csvFile) {
+        try {
+            return openIfFresh(csvFile, Files.readAttributes(csvFile, BasicFileAttributes.class));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    static BinaryTestCatalog openIfFresh(Path csvFile, BasicFileAttributes csvAttributes) {
+        Path compiled = compiledPathFor(csvFile);
+        if (!Files.isRegularFile(compiled)) {
+            return null;
+        }
+        try {
+            BinaryTestCatalog catalog = open(compiled);
+            if (catalog.isCompiledFrom(csvAttributes)) {
+                return catalog;
+            }
+            System.out.println("Warning: " + compiled + " is older than " + csvFile + " - parsing the CSV (recompile with mvn process-test-classes)");
+        } catch (IOException e) {
+            System.out.println("Warning: Ignoring unreadable catalog " + compiled + " - " + e.getMessage());
+        }
+        return null;
+    }
+}
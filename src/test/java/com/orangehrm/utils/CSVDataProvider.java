@@ -1,70 +1,64 @@
 package com.orangehrm.utils;
 
-import com.opencsv.CSVReader;
-import com.opencsv.exceptions.CsvException;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
 
 /**
  * Utility class for reading test data from CSV file.
  * Provides DataProvider methods for TestNG tests.
+ *
+ * With -Dshard.index / -Dshard.count the feature and "all" providers only return the rows
+ * of this shard (see TestSharder); readTestData() always returns every row.
+ *
+ * -Dcases=TC001..TC020,TC027 limits every provider to the selected test cases (see CaseSelector).
+ *
+ * The get*TestData providers hand rows out longest first (see orderByCost), so the slowest
+ * cases start first and parallel rows finish at about the same time.
+ *
+ * The stream* variants return lazy Iterator<Object[]> providers for very large (generated)
+ * catalogs: rows are decoded, or parsed, only as TestNG consumes them. With an up-to-date
+ * compiled catalog (see BinaryCatalogCompiler) the selection works on the mapped ID column and
+ * rows still come longest first; otherwise the CSV is parsed incrementally, in CSV order.
  */
 public class CSVDataProvider {
     
     private static final String CSV_FILE_PATH = "testcases_all_ess_detailed.csv";
 
+    // Rows of this JVM's shard for the current catalog
+    private record ShardSelection(TestCaseCatalog catalog, int index, int count, Set<TestData> rows) {}
+    private static volatile ShardSelection shardSelection;
+
     /**
-     * Read all test data from CSV file
+     * Read all test data from CSV file (parsed once per process, see TestCaseCatalog)
      * 
      * @return List of TestData objects
      */
     public static List<TestData> readTestData() {
-        List<TestData> testDataList = new ArrayList<>();
-        
-        try {
-            // Read with UTF-8 encoding, skipping BOM if present
-            java.io.FileInputStream fis = new java.io.FileInputStream(CSV_FILE_PATH);
-            java.io.InputStreamReader isr = new java.io.InputStreamReader(fis, java.nio.charset.StandardCharsets.UTF_8);
-            java.io.BufferedReader br = new java.io.BufferedReader(isr);
-            
-            // Skip UTF-8 BOM if present (EF BB BF)
-            br.mark(1);
-            int firstChar = br.read();
-            if (firstChar != 0xFEFF) { // Not BOM
-                br.reset();
-            }
-            
-            CSVReader reader = new CSVReader(br);
-            List<String[]> records = reader.readAll();
-            reader.close();
-            
-            // Skip header row
-            for (int i = 1; i < records.size(); i++) {
-                String[] record = records.get(i);
-                
-                TestData testData = new TestData(
-                    record[0],  // Feature ID
-                    record[1],  // Test case ID
-                    record[2],  // Test Description
-                    record[3],  // Test Steps
-                    record[4],  // Expected Result
-                    record[5],  // Actual Result
-                    record[6],  // Status
-                    record[7],  // Tester
-                    record[8],  // Tested Date
-                    record[9]   // Remark
-                );
-                
-                testDataList.add(testData);
-            }
-        } catch (IOException | CsvException e) {
-            e.printStackTrace();
-            throw new RuntimeException("Failed to read CSV file: " + CSV_FILE_PATH, e);
-        }
-        
-        return testDataList;
+        return new ArrayList<>(TestCaseCatalog.get(CSV_FILE_PATH).all());
+    }
+
+    /**
+     * Read the rows assigned to this JVM's shard (all rows when sharding is off).
+     * Rows are partitioned over the whole CSV, so every feature is spread across shards.
+     * 
+     * @return List of TestData objects for this shard
+     */
+    public static List<TestData> readShardTestData() {
+        TestCaseCatalog catalog = TestCaseCatalog.get(CSV_FILE_PATH);
+        return inShard(catalog, catalog.all());
     }
 
     /**
@@ -74,16 +68,8 @@ public class CSVDataProvider {
      * @return List of TestData objects for the feature
      */
     public static List<TestData> readTestDataByFeature(String featureId) {
-        List<TestData> allData = readTestData();
-        List<TestData> filteredData = new ArrayList<>();
-        
-        for (TestData data : allData) {
-            if (data.getFeatureId().equalsIgnoreCase(featureId)) {
-                filteredData.add(data);
-            }
-        }
-        
-        return filteredData;
+        TestCaseCatalog catalog = TestCaseCatalog.get(CSV_FILE_PATH);
+        return inShard(catalog, catalog.byFeature(featureId));
     }
 
     /**
@@ -93,19 +79,99 @@ public class CSVDataProvider {
      * @return List of TestData objects
      */
     public static List<TestData> readTestDataByFeatures(String[] featureIds) {
-        List<TestData> allData = readTestData();
-        List<TestData> filteredData = new ArrayList<>();
+        TestCaseCatalog catalog = TestCaseCatalog.get(CSV_FILE_PATH);
+        Set<TestData> wanted = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (String featureId : featureIds) {
+            wanted.addAll(catalog.byFeature(featureId));
+        }
         
-        for (TestData data : allData) {
-            for (String featureId : featureIds) {
-                if (data.getFeatureId().equalsIgnoreCase(featureId)) {
-                    filteredData.add(data);
-                    break;
+        // Keep CSV order across features
+        List<TestData> filteredData = new ArrayList<>();
+        for (TestData data : catalog.all()) {
+            if (wanted.contains(data)) {
+                filteredData.add(data);
+            }
+        }
+        return inShard(catalog, filteredData);
+    }
+
+    /**
+     * Keep only the rows selected with -Dcases that belong to this JVM's shard;
+     * the shard split is computed once per catalog
+     */
+    private static List<TestData> inShard(TestCaseCatalog catalog, List<TestData> rows) {
+        CaseSelector selector = CaseSelector.fromSystemProperties();
+        if (selector != null) {
+            List<TestData> selected = new ArrayList<>();
+            for (TestData row : rows) {
+                if (selector.matches(row.getTestCaseId())) {
+                    selected.add(row);
                 }
             }
+            rows = selected;
         }
-        
-        return filteredData;
+        TestSharder sharder = TestSharder.fromSystemProperties();
+        if (sharder == null) {
+            return new ArrayList<>(rows);
+        }
+        ShardSelection selection = shardSelection;
+        if (selection == null || selection.catalog() != catalog
+                || selection.index() != sharder.getIndex() || selection.count() != sharder.getCount()) {
+            List<TestData> shardData = sharder.select(catalog.all(), TestSharder.loadDurations());
+            Set<TestData> rowsInShard = Collections.newSetFromMap(new IdentityHashMap<>());
+            rowsInShard.addAll(shardData);
+            selection = new ShardSelection(catalog, sharder.getIndex(), sharder.getCount(), rowsInShard);
+            shardSelection = selection;
+            System.out.println("Shard " + sharder.getIndex() + "/" + sharder.getCount() + ": "
+                + shardData.size() + " of " + catalog.all().size() + " test cases");
+        }
+        List<TestData> result = new ArrayList<>();
+        for (TestData row : rows) {
+            if (selection.rows().contains(row)) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Order rows longest first by their median recorded duration: the local TimingHistory, else the
+     * shared durations file. Rows without any recorded duration are estimated at the mean of the
+     * known ones; equal costs keep CSV order.
+     */
+    public static List<TestData> orderByCost(List<TestData> rows) {
+        ToLongFunction<String> cost = costs();
+        if (cost == null) {
+            return rows;
+        }
+        List<TestData> ordered = new ArrayList<>(rows);
+        ordered.sort(Comparator.comparingLong(row -> -cost.applyAsLong(row.getTestCaseId())));
+        return ordered;
+    }
+
+    /**
+     * Estimated duration per test case ID (see orderByCost), or null when nothing was recorded yet
+     */
+    private static ToLongFunction<String> costs() {
+        Map<String, Long> durations = recordedDurations();
+        if (durations.isEmpty()) {
+            return null;
+        }
+        long mean = Math.round(durations.values().stream().mapToLong(Long::longValue).average().orElse(0));
+        return testCaseId -> durations.getOrDefault(testCaseId, mean);
+    }
+
+    /**
+     * Median duration per test case ID (millis), local history over the shared file
+     */
+    static Map<String, Long> recordedDurations() {
+        Map<String, Long> durations = TestSharder.loadDurations();
+        try {
+            durations.putAll(TimingHistory.getDefault().percentiles(null, 50));
+        } catch (IOException e) {
+            System.out.println("Warning: Could not read timing history - " + e.getMessage());
+        }
+        return durations;
     }
 
     /**
@@ -130,7 +196,7 @@ public class CSVDataProvider {
      * @return Object[][] for DataProvider
      */
     public static Object[][] getMyInfoTestData() {
-        List<TestData> testData = readTestDataByFeature("UC01");
+        List<TestData> testData = orderByCost(readTestDataByFeature("UC01"));
         return convertToDataProviderFormat(testData);
     }
 
@@ -140,7 +206,7 @@ public class CSVDataProvider {
      * @return Object[][] for DataProvider
      */
     public static Object[][] getLeaveTestData() {
-        List<TestData> testData = readTestDataByFeature("UC02");
+        List<TestData> testData = orderByCost(readTestDataByFeature("UC02"));
         return convertToDataProviderFormat(testData);
     }
 
@@ -150,7 +216,115 @@ public class CSVDataProvider {
      * @return Object[][] for DataProvider
      */
     public static Object[][] getAllTestData() {
-        List<TestData> testData = readTestData();
+        List<TestData> testData = orderByCost(readShardTestData());
         return convertToDataProviderFormat(testData);
     }
+
+    /**
+     * Stream the test data of one feature (null = every feature) from a CSV file,
+     * keeping only the rows selected with -Dcases that belong to this JVM's shard
+     *
+     * @param csvPath CSV file with the standard 10-column header
+     * @param featureId Feature ID to keep, or null for all rows
+     * @return Iterator<Object[]> for DataProvider
+     */
+    public static Iterator<Object[]> streamTestData(String csvPath, String featureId) {
+        Path csv = Path.of(csvPath);
+        BinaryTestCatalog compiled = BinaryTestCatalog.openIfFresh(csv);
+        if (compiled != null) {
+            Predicate<String> wanted = streamSelection(() -> {
+                List<String> ids = new ArrayList<>(compiled.rowCount());
+                for (int row = 0; row < compiled.rowCount(); row++) {
+                    ids.add(compiled.testCaseId(row));
+                }
+                return ids;
+            });
+            int[] rows = featureId == null
+                ? IntStream.range(0, compiled.rowCount()).toArray()
+                : compiled.rowsOfFeature(featureId);
+            rows = Arrays.stream(rows).filter(row -> wanted.test(compiled.testCaseId(row))).toArray();
+            return compiled.iterator(orderByCost(rows, compiled));
+        }
+        Predicate<String> wanted = streamSelection(() -> StreamingTestDataIterator.testCaseIds(csv));
+        return new StreamingTestDataIterator(csv, data ->
+            (featureId == null || data.getFeatureId().equalsIgnoreCase(featureId.trim()))
+                && wanted.test(data.getTestCaseId()));
+    }
+
+    /**
+     * Test case IDs selected with -Dcases and owned by this JVM's shard
+     *
+     * @param allTestCaseIds Every ID of the catalog; only read when shards are packed by duration
+     */
+    private static Predicate<String> streamSelection(Supplier<List<String>> allTestCaseIds) {
+        Predicate<String> wanted = testCaseId -> true;
+        CaseSelector selector = CaseSelector.fromSystemProperties();
+        if (selector != null) {
+            wanted = wanted.and(selector::matches);
+        }
+        TestSharder sharder = TestSharder.fromSystemProperties();
+        if (sharder != null) {
+            wanted = wanted.and(sharder.owner(allTestCaseIds, TestSharder.loadDurations()));
+        }
+        return wanted;
+    }
+
+    /**
+     * Row numbers of the compiled catalog longest first (see orderByCost)
+     */
+    private static int[] orderByCost(int[] rows, BinaryTestCatalog compiled) {
+        ToLongFunction<String> cost = costs();
+        if (cost == null) {
+            return rows;
+        }
+        long[] costOfRow = new long[rows.length];
+        Integer[] positions = new Integer[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            costOfRow[i] = cost.applyAsLong(compiled.testCaseId(rows[i]));
+            positions[i] = i;
+        }
+        Arrays.sort(positions, Comparator.comparingLong(i -> -costOfRow[i]));
+        int[] ordered = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            ordered[i] = rows[positions[i]];
+        }
+        return ordered;
+    }
+
+    /**
+     * Stream test data for one feature
+     * 
+     * @param featureId Feature ID to filter
+     * @return Iterator<Object[]> for DataProvider
+     */
+    public static Iterator<Object[]> streamTestDataByFeature(String featureId) {
+        return streamTestData(CSV_FILE_PATH, featureId);
+    }
+
+    /**
+     * Stream test data for UC01 (My Info / Personal Details) tests
+     * 
+     * @return Iterator<Object[]> for DataProvider
+     */
+    public static Iterator<Object[]> streamMyInfoTestData() {
+        return streamTestDataByFeature("UC01");
+    }
+
+    /**
+     * Stream test data for UC02 (Leave Management) tests
+     * 
+     * @return Iterator<Object[]> for DataProvider
+     */
+    public static Iterator<Object[]> streamLeaveTestData() {
+        return streamTestDataByFeature("UC02");
+    }
+
+    /**
+     * Stream all test data from CSV
+     * 
+     * @return Iterator<Object[]> for DataProvider
+     */
+    public static Iterator<Object[]> streamAllTestData() {
+        return streamTestData(CSV_FILE_PATH, null);
+    }
 }
@@ -0,0 +1,73 @@
+package com.orangehrm.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Test case selection from the command line, e.g. -Dcases=TC001..TC020,TC027,TC040..TC049
+ * Ranges compare the numeric part of IDs with the same prefix, so TC9..TC12 works too.
+ */
+public final class CaseSelector {
+
+    private static final Pattern ID = Pattern.compile("(.*?)(\\d+)");
+
+    private record Range(String prefix, long from, long to) {}
+
+    private final List<String> ids = new ArrayList<>();
+    private final List<Range> ranges = new ArrayList<>();
+
+    private CaseSelector() {
+    }
+
+    /**
+     * Selector from -Dcases, or null when every case should run
+     */
+    public static CaseSelector fromSystemProperties() {
+        String spec = System.getProperty("cases", "");
+        return spec.isBlank() ? null : parse(spec);
+    }
+
+    /**
+     * @param spec Comma-separated IDs and FROM..TO ranges
+     */
+    public static CaseSelector parse(String spec) {
+        CaseSelector selector = new CaseSelector();
+        for (String part : spec.split(",")) {
+            String item = part.trim();
+            if (item.isEmpty()) {
+                continue;
+            }
+            int dots = item.indexOf("..");
+            if (dots < 0) {
+                selector.ids.add(item);
+                continue;
+            }
+            Matcher from = ID.matcher(item.substring(0, dots).trim());
+            Matcher to = ID.matcher(item.substring(dots + 2).trim());
+            if (!from.matches() || !to.matches() || !from.group(1).equals(to.group(1))) {
+                throw new IllegalArgumentException("Invalid test case range: " + item);
+            }
+            selector.ranges.add(new Range(from.group(1), Long.parseLong(from.group(2)), Long.parseLong(to.group(2))));
+        }
+        return selector;
+    }
+
+    public boolean matches(String testCaseId) {
+        if (ids.contains(testCaseId)) {
+            return true;
+        }
+        Matcher id = ID.matcher(testCaseId);
+        if (!id.matches()) {
+            return false;
+        }
+        long number = Long.parseLong(id.group(2));
+        for (Range range : ranges) {
+            if (range.prefix().equals(id.group(1)) && number >= range.from() && number <= range.to()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
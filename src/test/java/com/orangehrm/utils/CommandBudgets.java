@@ -0,0 +1,162 @@
+package com.orangehrm.utils;
+
+import com.orangehrm.base.SampleProfile;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Declared WebDriver command / wall time budgets per test case, plus the command count baseline
+ * of previous runs.
+ *
+ * Budgets are read from -Dbudgets.path (default testcases_all_ess_detailed.budgets), one line per case:
+ *   TC001: 40 commands, 6s     # "default:" applies to cases without a line of their own
+ * Either limit may be left out; times accept "6s" or "6000ms".
+ *
+ * The baseline keeps the command counts of the last runs per test case and browser in
+ * <history.dir>/command-baseline.properties; its median is what a run is compared against.
+ */
+public class CommandBudgets {
+
+    public static final String DEFAULT_BUDGETS_FILE = "testcases_all_ess_detailed.budgets";
+    private static final String BASELINE_FILE = "command-baseline.properties";
+    private static final String DEFAULT_KEY = "default";
+    private static final int WINDOW = 10;
+    private static final Pattern LIMIT = Pattern.compile("(\\d+)\\s*(commands?|ms|s)", Pattern.CASE_INSENSITIVE);
+
+    private static CommandBudgets defaultBudgets;
+
+    private final Map<String, Budget> budgets;
+    private final Path baselineFile;
+    private final Map<String, long[]> baseline = new ConcurrentSkipListMap<>();
+
+    /**
+     * Limits of one test case; -1 = no limit
+     */
+    public record Budget(long maxCommands, long maxMillis) {
+    }
+
+    CommandBudgets(Map<String, Budget> budgets, Path baselineFile) {
+        this.budgets = budgets;
+        this.baselineFile = baselineFile;
+        loadBaseline();
+    }
+
+    /**
+     * Budgets and baseline configured from system properties (loaded once)
+     */
+    public static synchronized CommandBudgets getDefault() {
+        if (defaultBudgets == null) {
+            Path file = Path.of(System.getProperty("budgets.path", DEFAULT_BUDGETS_FILE));
+            Path history = Path.of(System.getProperty("history.dir", ".test-history"));
+            defaultBudgets = new CommandBudgets(Files.isRegularFile(file) ? parse(file) : Map.of(),
+                history.resolve(BASELINE_FILE));
+        }
+        return defaultBudgets;
+    }
+
+    /**
+     * Read a budgets file
+     *
+     * @throws IllegalArgumentException on a malformed line
+     */
+    public static Map<String, Budget> parse(Path file) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read command budgets: " + file, e);
+        }
+        Map<String, Budget> budgets = new ConcurrentSkipListMap<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            int hash = line.indexOf('#');
+            line = (hash >= 0 ? line.substring(0, hash) : line).strip();
+            if (line.isEmpty()) {
+                continue;
+            }
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException(file.getFileName() + ":" + (i + 1) + ": expected 'TCxxx: N commands, Ns'");
+            }
+            long commands = -1;
+            long millis = -1;
+            for (String part : line.substring(colon + 1).split(",")) {
+                Matcher m = LIMIT.matcher(part.strip());
+                if (!m.matches()) {
+                    throw new IllegalArgumentException(file.getFileName() + ":" + (i + 1) + ": bad limit '" + part.strip() + "'");
+                }
+                long value = Long.parseLong(m.group(1));
+                switch (m.group(2).toLowerCase()) {
+                    case "ms" -> millis = value;
+                    case "s" -> millis = value * 1000;
+                    default -> commands = value;
+                }
+            }
+            budgets.put(line.substring(0, colon).strip(), new Budget(commands, millis));
+        }
+        return budgets;
+    }
+
+    /**
+     * Budget of a test case (its own line, else the "default:" line), or null if none is declared
+     */
+    public Budget budget(String testCaseId) {
+        Budget budget = budgets.get(testCaseId);
+        return budget != null ? budget : budgets.get(DEFAULT_KEY);
+    }
+
+    /**
+     * Median command count of the recorded runs of a test case in a browser
+     */
+    public OptionalLong baselineCommands(String testCaseId, String browser) {
+        long[] counts = baseline.get(testCaseId + "." + browser);
+        if (counts == null || counts.length == 0) {
+            return OptionalLong.empty();
+        }
+        long[] sorted = counts.clone();
+        Arrays.sort(sorted);
+        return OptionalLong.of(sorted[(sorted.length - 1) / 2]);
+    }
+
+    /**
+     * Add a run's command count to the baseline (the oldest of more than 10 runs is dropped)
+     */
+    public void recordCommands(String testCaseId, String browser, long commands) {
+        add(testCaseId + "." + browser, commands);
+    }
+
+    private void add(String key, long commands) {
+        baseline.merge(key, new long[] {commands}, (old, added) -> {
+            long[] merged = Arrays.copyOfRange(old, Math.max(0, old.length + 1 - WINDOW), old.length + 1);
+            merged[merged.length - 1] = added[0];
+            return merged;
+        });
+    }
+
+    /**
+     * Write the baseline so the next run compares against it
+     */
+    public synchronized void save() throws IOException {
+        if (!baseline.isEmpty()) {
+            SampleProfile.save(baselineFile, baseline,
+                "WebDriver commands of the last runs per testCaseId.browser (see CommandBudgets)");
+        }
+    }
+
+    private void loadBaseline() {
+        SampleProfile.load(baselineFile).forEach((key, counts) -> {
+            for (long count : counts) {
+                add(key, count);
+            }
+        });
+    }
+}
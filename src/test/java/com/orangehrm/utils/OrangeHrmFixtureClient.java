@@ -0,0 +1,279 @@
+package com.orangehrm.utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fixture client for OrangeHRM's REST API (/web/index.php/api/v2/...).
+ * Uses the logged-in browser session cookie so test data can be set up and reset over HTTP
+ * in milliseconds instead of through the UI.
+ *
+ * The API base is derived from the driver's current URL, or taken from -Dapi.url
+ * (useful on the Grid, where the browser reaches the app via host.docker.internal).
+ * Point it at OrangeHrmStubServer to run offline.
+ */
+public class OrangeHrmFixtureClient {
+
+    // OrangeHRM leave request status codes
+    public static final int STATUS_PENDING_APPROVAL = 1;
+    public static final int STATUS_SCHEDULED = 2;
+
+    // OrangeHRM user role of an employee self-service (ESS) account
+    public static final int ROLE_ESS = 2;
+
+    // Fields accepted by PUT pim/employees/{empNumber}/personal-details
+    private static final String[] PERSONAL_DETAIL_FIELDS = {
+        "firstName", "middleName", "lastName", "employeeId", "otherId",
+        "drivingLicenseNo", "drivingLicenseExpiredDate", "gender", "maritalStatus", "birthday"
+    };
+
+    private static final Pattern EMP_NUMBER = Pattern.compile("/empNumber/(\\d+)");
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient http;
+    private final URI apiBase;
+    private final String cookieHeader;
+    private final Json json = new Json();
+
+    /**
+     * @param apiBase API root ending with "/api/v2/"
+     * @param cookieHeader Cookie header carrying the authenticated session
+     */
+    public OrangeHrmFixtureClient(URI apiBase, String cookieHeader) {
+        this.apiBase = apiBase.toString().endsWith("/") ? apiBase : URI.create(apiBase + "/");
+        this.cookieHeader = cookieHeader;
+        this.http = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+    }
+
+    /**
+     * Build a client that shares the session of a logged-in browser
+     */
+    public static OrangeHrmFixtureClient fromDriver(WebDriver driver) {
+        String apiUrl = System.getProperty("api.url", "");
+        if (apiUrl == null || apiUrl.isBlank()) {
+            String currentUrl = driver.getCurrentUrl();
+            int web = currentUrl.indexOf("/web/");
+            if (web < 0) {
+                throw new IllegalStateException("Cannot derive OrangeHRM API URL from " + currentUrl + " - set -Dapi.url");
+            }
+            apiUrl = currentUrl.substring(0, web + 5) + "index.php/api/v2/";
+        }
+        return new OrangeHrmFixtureClient(URI.create(apiUrl), cookieHeader(driver.manage().getCookies()));
+    }
+
+    /**
+     * Extract the employee number from a PIM URL such as .../viewPersonalDetails/empNumber/7
+     *
+     * @return Employee number, or -1 if the URL does not contain one
+     */
+    public static int empNumberFromUrl(String url) {
+        Matcher matcher = EMP_NUMBER.matcher(url);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    /**
+     * Read personal details of an employee
+     */
+    public Map<String, Object> getPersonalDetails(int empNumber) throws IOException {
+        return asMap(send("GET", "pim/employees/" + empNumber + "/personal-details", null));
+    }
+
+    /**
+     * Reset personal details of an employee to a baseline previously read with getPersonalDetails
+     */
+    public void resetPersonalDetails(int empNumber, Map<String, Object> baseline) throws IOException {
+        send("PUT", "pim/employees/" + empNumber + "/personal-details", toPersonalDetailsPayload(baseline));
+    }
+
+    /**
+     * Leave requests of the logged-in user overlapping the given period
+     *
+     * @param statuses Status codes to include (e.g. STATUS_PENDING_APPROVAL)
+     */
+    public List<Map<String, Object>> getMyLeaveRequests(LocalDate from, LocalDate to, int... statuses) throws IOException {
+        StringBuilder query = new StringBuilder("leave/leave-requests?limit=100")
+            .append("&fromDate=").append(from)
+            .append("&toDate=").append(to);
+        for (int status : statuses) {
+            query.append('&').append(URLEncoder.encode("statuses[]", StandardCharsets.UTF_8)).append('=').append(status);
+        }
+        return asList(send("GET", query.toString(), null));
+    }
+
+    /**
+     * Cancel one leave request of the logged-in user
+     */
+    public void cancelLeaveRequest(long leaveRequestId) throws IOException {
+        send("PUT", "leave/leave-requests/" + leaveRequestId, Map.of("action", "CANCEL"));
+    }
+
+    /**
+     * Cancel every pending / scheduled leave request in the period, so later runs
+     * do not hit overlap errors from leftovers (TC040-TC049)
+     *
+     * @return Number of requests cancelled
+     */
+    public int cancelOpenLeaveRequests(LocalDate from, LocalDate to) throws IOException {
+        int cancelled = 0;
+        for (Map<String, Object> request : getMyLeaveRequests(from, to, STATUS_PENDING_APPROVAL, STATUS_SCHEDULED)) {
+            cancelLeaveRequest(((Number) request.get("id")).longValue());
+            cancelled++;
+        }
+        return cancelled;
+    }
+
+    /**
+     * Leave balance of the logged-in user for a leave type
+     */
+    public Map<String, Object> getLeaveBalance(int leaveTypeId) throws IOException {
+        return asMap(send("GET", "leave/leave-balance/leave-type/" + leaveTypeId, null));
+    }
+
+    /**
+     * Add an employee (needs an admin session)
+     *
+     * @param employeeId Employee ID shown on My Info, must be unique
+     * @return Employee number of the new employee
+     */
+    public int createEmployee(String firstName, String lastName, String employeeId) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("firstName", firstName);
+        body.put("middleName", "");
+        body.put("lastName", lastName);
+        body.put("employeeId", employeeId);
+        return ((Number) asMap(send("POST", "pim/employees", body)).get("empNumber")).intValue();
+    }
+
+    /**
+     * Delete employees together with their user accounts (needs an admin session)
+     */
+    public void deleteEmployees(List<Integer> empNumbers) throws IOException {
+        if (!empNumbers.isEmpty()) {
+            send("DELETE", "pim/employees", Map.of("ids", empNumbers));
+        }
+    }
+
+    /**
+     * Create an enabled login for an employee (needs an admin session)
+     *
+     * @param userRoleId e.g. ROLE_ESS
+     */
+    public void createUser(int empNumber, String username, String password, int userRoleId) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("username", username);
+        body.put("password", password);
+        body.put("status", true);
+        body.put("userRoleId", userRoleId);
+        body.put("empNumber", empNumber);
+        send("POST", "admin/users", body);
+    }
+
+    /**
+     * Leave types that can still be assigned ({id, name, ...})
+     */
+    public List<Map<String, Object>> getLeaveTypes() throws IOException {
+        return asList(send("GET", "leave/leave-types?limit=0", null));
+    }
+
+    /**
+     * Configured leave periods ({startDate, endDate}, ISO dates)
+     */
+    public List<Map<String, Object>> getLeavePeriods() throws IOException {
+        return asList(send("GET", "leave/leave-periods", null));
+    }
+
+    /**
+     * Entitle an employee to leave of one type within a leave period (needs an admin session)
+     */
+    public void addLeaveEntitlement(int empNumber, int leaveTypeId, LocalDate from, LocalDate to, double days) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("empNumber", empNumber);
+        body.put("leaveTypeId", leaveTypeId);
+        body.put("fromDate", from.toString());
+        body.put("toDate", to.toString());
+        body.put("entitlement", days);
+        send("POST", "leave/leave-entitlements", body);
+    }
+
+    private Object send(String method, String path, Object body) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(apiBase.resolve(path))
+            .timeout(TIMEOUT)
+            .header("Accept", "application/json")
+            .header("Cookie", cookieHeader);
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json.toJson(body)));
+        }
+        HttpResponse<String> response;
+        try {
+            response = http.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted calling " + method + " " + path, e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(method + " " + path + " failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        if (response.body() == null || response.body().isBlank()) {
+            return null;
+        }
+        Map<String, Object> envelope = json.toType(response.body(), Json.MAP_TYPE);
+        return envelope.get("data");
+    }
+
+    private static Map<String, Object> toPersonalDetailsPayload(Map<String, Object> details) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        for (String field : PERSONAL_DETAIL_FIELDS) {
+            payload.put(field, details.get(field));
+        }
+        // GET returns nationality as {id, name}; PUT expects nationalityId
+        Object nationality = details.get("nationality");
+        payload.put("nationalityId", nationality instanceof Map<?, ?> n ? n.get("id") : details.get("nationalityId"));
+        return payload;
+    }
+
+    private static List<Map<String, Object>> asList(Object value) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        if (value instanceof List<?> list) {
+            for (Object item : list) {
+                items.add(asMap(item));
+            }
+        }
+        return items;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        return value instanceof Map<?, ?> ? (Map<String, Object>) value : new LinkedHashMap<>();
+    }
+
+    /**
+     * Cookie header value ("name=value; ...") for a set of browser cookies
+     */
+    public static String cookieHeader(Iterable<Cookie> cookies) {
+        StringBuilder header = new StringBuilder();
+        for (Cookie cookie : cookies) {
+            if (header.length() > 0) header.append("; ");
+            header.append(cookie.getName()).append('=').append(cookie.getValue());
+        }
+        return header.toString();
+    }
+}
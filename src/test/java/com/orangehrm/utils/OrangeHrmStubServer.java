@@ -0,0 +1,278 @@
+package com.orangehrm.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for the subset of OrangeHRM's REST API used by OrangeHrmFixtureClient.
+ * Keeps employees, users, personal details, leave data and balances in memory and requires the
+ * "orangehrm" session cookie, so fixture code can be exercised without a running OrangeHRM.
+ */
+public class OrangeHrmStubServer implements AutoCloseable {
+
+    public static final String SESSION_COOKIE = "orangehrm";
+    private static final String API_PREFIX = "/web/index.php/api/v2/";
+
+    private static final Pattern PERSONAL_DETAILS = Pattern.compile("pim/employees/(\\d+)/personal-details");
+    private static final Pattern LEAVE_REQUEST = Pattern.compile("leave/leave-requests/(\\d+)");
+    private static final Pattern LEAVE_BALANCE = Pattern.compile("leave/leave-balance/leave-type/(\\d+)");
+
+    private final HttpServer server;
+    private final String sessionId;
+    private final Json json = new Json();
+    private final Map<Integer, Map<String, Object>> personalDetails = new ConcurrentHashMap<>();
+    private final Map<Long, Map<String, Object>> leaveRequests = new ConcurrentHashMap<>();
+    private final Map<Integer, Double> leaveBalances = new ConcurrentHashMap<>();
+    private final AtomicLong nextLeaveRequestId = new AtomicLong(1);
+    private final AtomicInteger nextEmpNumber = new AtomicInteger(100);
+    private final Map<String, Map<String, Object>> users = new ConcurrentHashMap<>();
+    private final List<Map<String, Object>> leaveTypes = new CopyOnWriteArrayList<>();
+    private final List<Map<String, Object>> leavePeriods = new CopyOnWriteArrayList<>();
+    private final List<Map<String, Object>> leaveEntitlements = new CopyOnWriteArrayList<>();
+
+    private OrangeHrmStubServer(String sessionId) throws IOException {
+        this.sessionId = sessionId;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext(API_PREFIX, this::handle);
+    }
+
+    /**
+     * Start the stub on a free loopback port
+     *
+     * @param sessionId Value the "orangehrm" session cookie must carry
+     */
+    public static OrangeHrmStubServer start(String sessionId) throws IOException {
+        OrangeHrmStubServer stub = new OrangeHrmStubServer(sessionId);
+        stub.server.start();
+        return stub;
+    }
+
+    /**
+     * API root to pass to OrangeHrmFixtureClient
+     */
+    public URI apiBase() {
+        return URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + API_PREFIX);
+    }
+
+    /**
+     * Cookie header the stub accepts
+     */
+    public String cookieHeader() {
+        return SESSION_COOKIE + "=" + sessionId;
+    }
+
+    public void putPersonalDetails(int empNumber, Map<String, Object> details) {
+        personalDetails.put(empNumber, new LinkedHashMap<>(details));
+    }
+
+    public Map<String, Object> personalDetails(int empNumber) {
+        return personalDetails.get(empNumber);
+    }
+
+    /**
+     * Seed a leave request for the logged-in user
+     *
+     * @return Id of the new request
+     */
+    public long addLeaveRequest(LocalDate from, LocalDate to, int status) {
+        long id = nextLeaveRequestId.getAndIncrement();
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("id", id);
+        request.put("fromDate", from.toString());
+        request.put("toDate", to.toString());
+        request.put("status", status);
+        leaveRequests.put(id, request);
+        return id;
+    }
+
+    public int leaveRequestStatus(long id) {
+        return ((Number) leaveRequests.get(id).get("status")).intValue();
+    }
+
+    public void setLeaveBalance(int leaveTypeId, double days) {
+        leaveBalances.put(leaveTypeId, days);
+    }
+
+    /**
+     * User account created through admin/users, or null
+     */
+    public Map<String, Object> user(String username) {
+        return users.get(username);
+    }
+
+    public void addLeaveType(int id, String name) {
+        leaveTypes.add(Map.of("id", id, "name", name));
+    }
+
+    public void addLeavePeriod(LocalDate start, LocalDate end) {
+        leavePeriods.add(Map.of("startDate", start.toString(), "endDate", end.toString()));
+    }
+
+    /**
+     * Entitlements added for one employee
+     */
+    public List<Map<String, Object>> leaveEntitlements(int empNumber) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map<String, Object> entitlement : leaveEntitlements) {
+            if (((Number) entitlement.get("empNumber")).intValue() == empNumber) {
+                result.add(entitlement);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String cookies = exchange.getRequestHeaders().getFirst("Cookie");
+            if (cookies == null || !cookies.contains(cookieHeader())) {
+                respond(exchange, 401, Map.of("error", Map.of("message", "Session expired")));
+                return;
+            }
+            String path = exchange.getRequestURI().getPath().substring(API_PREFIX.length());
+            String method = exchange.getRequestMethod();
+
+            Matcher m;
+            if ((m = PERSONAL_DETAILS.matcher(path)).matches()) {
+                int empNumber = Integer.parseInt(m.group(1));
+                if (!personalDetails.containsKey(empNumber)) {
+                    respond(exchange, 404, Map.of("error", Map.of("message", "Record Not Found")));
+                } else if ("PUT".equals(method)) {
+                    Map<String, Object> body = readBody(exchange);
+                    personalDetails.get(empNumber).putAll(body);
+                    respond(exchange, 200, Map.of("data", personalDetails.get(empNumber)));
+                } else {
+                    respond(exchange, 200, Map.of("data", personalDetails.get(empNumber)));
+                }
+            } else if ("pim/employees".equals(path) && "POST".equals(method)) {
+                createEmployee(exchange);
+            } else if ("pim/employees".equals(path) && "DELETE".equals(method)) {
+                List<?> ids = (List<?>) readBody(exchange).get("ids");
+                for (Object id : ids) {
+                    int empNumber = ((Number) id).intValue();
+                    personalDetails.remove(empNumber);
+                    users.values().removeIf(user -> ((Number) user.get("empNumber")).intValue() == empNumber);
+                }
+                respond(exchange, 200, Map.of("data", ids));
+            } else if ("admin/users".equals(path) && "POST".equals(method)) {
+                Map<String, Object> body = new LinkedHashMap<>(readBody(exchange));
+                body.remove("password");
+                if (users.putIfAbsent((String) body.get("username"), body) != null) {
+                    respond(exchange, 422, Map.of("error", Map.of("message", "Username already exists")));
+                } else {
+                    respond(exchange, 200, Map.of("data", body));
+                }
+            } else if ("leave/leave-types".equals(path) && "GET".equals(method)) {
+                respond(exchange, 200, Map.of("data", leaveTypes));
+            } else if ("leave/leave-periods".equals(path) && "GET".equals(method)) {
+                respond(exchange, 200, Map.of("data", leavePeriods));
+            } else if ("leave/leave-entitlements".equals(path) && "POST".equals(method)) {
+                Map<String, Object> body = readBody(exchange);
+                leaveEntitlements.add(body);
+                respond(exchange, 200, Map.of("data", body));
+            } else if ("leave/leave-requests".equals(path) && "GET".equals(method)) {
+                respond(exchange, 200, Map.of("data", findLeaveRequests(exchange.getRequestURI().getRawQuery())));
+            } else if ((m = LEAVE_REQUEST.matcher(path)).matches() && "PUT".equals(method)) {
+                Map<String, Object> request = leaveRequests.get(Long.parseLong(m.group(1)));
+                if (request == null) {
+                    respond(exchange, 404, Map.of("error", Map.of("message", "Record Not Found")));
+                } else {
+                    if ("CANCEL".equals(readBody(exchange).get("action"))) {
+                        request.put("status", 0);
+                    }
+                    respond(exchange, 200, Map.of("data", request));
+                }
+            } else if ((m = LEAVE_BALANCE.matcher(path)).matches()) {
+                double days = leaveBalances.getOrDefault(Integer.parseInt(m.group(1)), 0.0);
+                respond(exchange, 200, Map.of("data", Map.of("balance", Map.of("balance", days))));
+            } else {
+                respond(exchange, 404, Map.of("error", Map.of("message", "Unknown endpoint " + path)));
+            }
+        }
+    }
+
+    private synchronized void createEmployee(HttpExchange exchange) throws IOException {
+        Map<String, Object> body = readBody(exchange);
+        Object employeeId = body.get("employeeId");
+        boolean taken = personalDetails.values().stream()
+            .anyMatch(details -> employeeId.equals(details.get("employeeId")));
+        if (taken) {
+            respond(exchange, 422, Map.of("error", Map.of("message", "Employee Id already exists")));
+            return;
+        }
+        int empNumber = nextEmpNumber.getAndIncrement();
+        Map<String, Object> details = new LinkedHashMap<>(body);
+        details.put("empNumber", empNumber);
+        personalDetails.put(empNumber, details);
+        respond(exchange, 200, Map.of("data", details));
+    }
+
+    private List<Map<String, Object>> findLeaveRequests(String rawQuery) {
+        LocalDate from = LocalDate.MIN;
+        LocalDate to = LocalDate.MAX;
+        List<Integer> statuses = new ArrayList<>();
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                String[] kv = pair.split("=", 2);
+                String key = URLDecoder.decode(kv[0], StandardCharsets.UTF_8);
+                String value = kv.length > 1 ? URLDecoder.decode(kv[1], StandardCharsets.UTF_8) : "";
+                switch (key) {
+                    case "fromDate" -> from = LocalDate.parse(value);
+                    case "toDate" -> to = LocalDate.parse(value);
+                    case "statuses[]" -> statuses.add(Integer.parseInt(value));
+                    default -> { }
+                }
+            }
+        }
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map<String, Object> request : leaveRequests.values()) {
+            boolean overlaps = !LocalDate.parse((String) request.get("toDate")).isBefore(from)
+                && !LocalDate.parse((String) request.get("fromDate")).isAfter(to);
+            boolean statusMatches = statuses.isEmpty() || statuses.contains(((Number) request.get("status")).intValue());
+            if (overlaps && statusMatches) {
+                result.add(request);
+            }
+        }
+        return result;
+    }
+
+    private Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return body.isBlank() ? Map.of() : json.toType(body, Json.MAP_TYPE);
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = json.toJson(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
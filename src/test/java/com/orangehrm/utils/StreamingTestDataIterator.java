@@ -0,0 +1,127 @@
+package com.orangehrm.utils;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Lazy DataProvider iterator over a test case CSV.
+ * Each record is parsed with CSVReader.readNext() and filtered only when TestNG asks for the
+ * next row, so the first test starts right away and only one row is held in memory.
+ * The file is closed when the last row has been handed out.
+ */
+public class StreamingTestDataIterator implements Iterator<Object[]>, AutoCloseable {
+
+    private final Path file;
+    private final Predicate<TestData> filter;
+    private CSVReader reader;
+    private TestData next;
+    private boolean done;
+
+    /**
+     * @param file CSV file with the standard 10-column header
+     * @param filter Rows to hand out (e.g. feature and shard)
+     */
+    public StreamingTestDataIterator(Path file, Predicate<TestData> filter) {
+        this.file = file;
+        this.filter = filter;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            next = advance();
+        }
+        return next != null;
+    }
+
+    @Override
+    public Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        TestData current = next;
+        next = null;
+        return new Object[] {current};
+    }
+
+    @Override
+    public void close() {
+        done = true;
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (IOException ignored) {
+                // nothing left to read
+            }
+            reader = null;
+        }
+    }
+
+    /**
+     * Test case IDs of every row, in CSV order, for shard packing that needs the whole catalog.
+     * Reads the file once more but keeps only the ID column.
+     */
+    public static List<String> testCaseIds(Path file) {
+        List<String> ids = new ArrayList<>();
+        try (StreamingTestDataIterator rows = new StreamingTestDataIterator(file, data -> {
+                ids.add(data.getTestCaseId());
+                return false;
+            })) {
+            rows.hasNext();
+        }
+        return ids;
+    }
+
+    private TestData advance() {
+        try {
+            if (reader == null) {
+                open();
+            }
+            String[] record;
+            while ((record = reader.readNext()) != null) {
+                if (record.length < 10) {
+                    continue; // blank or truncated line
+                }
+                TestData testData = new TestData(
+                    record[0], record[1], record[2], record[3], record[4],
+                    record[5], record[6], record[7], record[8], record[9]);
+                if (filter.test(testData)) {
+                    return testData;
+                }
+            }
+            close();
+            return null;
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException("Failed to read CSV file: " + file, e);
+        } catch (CsvValidationException e) {
+            close();
+            throw new RuntimeException("Failed to read CSV file: " + file, e);
+        }
+    }
+
+    private void open() throws IOException, CsvValidationException {
+        BufferedReader br = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+
+        // Skip UTF-8 BOM if present (EF BB BF)
+        br.mark(1);
+        int firstChar = br.read();
+        if (firstChar != 0xFEFF) { // Not BOM
+            br.reset();
+        }
+
+        reader = new CSVReader(br);
+        reader.readNext(); // Skip header row
+    }
+}
@@ -0,0 +1,232 @@
+package com.orangehrm.utils;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Immutable, process-wide view of the test case CSV.
+ * The file is parsed once and indexed by Feature ID and Test case ID; get() only re-parses
+ * when the file's modification time or size changes and its content hash differs.
+ * Loading is synchronized per file, so parallel <test> blocks never parse the same file twice.
+ *
+ * When an up-to-date compiled catalog exists (see BinaryCatalogCompiler) the CSV itself is never read:
+ * byFeature() and byTestCaseId() look rows up in the catalog's mapped feature and ID indexes, and a
+ * row is decoded the first time it is asked for (then reused, so every lookup returns the same object).
+ */
+public final class TestCaseCatalog {
+
+    private static final Map<Path, TestCaseCatalog> CATALOGS = new ConcurrentHashMap<>();
+
+    private final Path file;
+    private final long modifiedMillis;
+    private final long size;
+    private final byte[] hash;
+    private volatile List<TestData> rows; // compiled catalogs: built on the first all()
+    private final Map<String, List<TestData>> byFeature;
+    private final Map<String, TestData> byTestCaseId;
+    private final BinaryTestCatalog compiled;
+    private final AtomicReferenceArray<TestData> decoded; // rows of the compiled catalog decoded so far
+
+    private TestCaseCatalog(Path file, long modifiedMillis, long size, BinaryTestCatalog compiled) {
+        this.file = file;
+        this.modifiedMillis = modifiedMillis;
+        this.size = size;
+        this.hash = compiled.getSourceHash();
+        this.compiled = compiled;
+        this.decoded = new AtomicReferenceArray<>(compiled.rowCount());
+        this.byFeature = null;
+        this.byTestCaseId = null;
+    }
+
+    private TestCaseCatalog(Path file, long modifiedMillis, long size, byte[] hash, List<TestData> rows) {
+        this.file = file;
+        this.modifiedMillis = modifiedMillis;
+        this.size = size;
+        this.hash = hash;
+        this.compiled = null;
+        this.decoded = null;
+        this.rows = Collections.unmodifiableList(rows);
+
+        Map<String, List<TestData>> features = new LinkedHashMap<>();
+        Map<String, TestData> ids = new LinkedHashMap<>();
+        for (TestData row : rows) {
+            features.computeIfAbsent(key(row.getFeatureId()), k -> new ArrayList<>()).add(row);
+            ids.putIfAbsent(row.getTestCaseId(), row);
+        }
+        features.replaceAll((k, v) -> Collections.unmodifiableList(v));
+        this.byFeature = Collections.unmodifiableMap(features);
+        this.byTestCaseId = Collections.unmodifiableMap(ids);
+    }
+
+    /**
+     * Catalog of a CSV file, parsing it on first use or when it changed on disk
+     */
+    public static TestCaseCatalog get(String csvPath) {
+        Path path = Path.of(csvPath).toAbsolutePath().normalize();
+        TestCaseCatalog current = CATALOGS.get(path);
+        BasicFileAttributes attributes = attributes(path);
+        if (current != null && current.matches(attributes)) {
+            return current;
+        }
+        synchronized (TestCaseCatalog.class) {
+            current = CATALOGS.get(path);
+            if (current != null && current.matches(attributes)) {
+                return current;
+            }
+            TestCaseCatalog loaded = load(path, attributes, current);
+            CATALOGS.put(path, loaded);
+            return loaded;
+        }
+    }
+
+    /**
+     * All rows in CSV order
+     */
+    public List<TestData> all() {
+        List<TestData> all = rows;
+        if (all == null) {
+            List<TestData> decodedRows = new ArrayList<>(compiled.rowCount());
+            for (int i = 0; i < compiled.rowCount(); i++) {
+                decodedRows.add(row(i));
+            }
+            all = Collections.unmodifiableList(decodedRows);
+            rows = all;
+        }
+        return all;
+    }
+
+    /**
+     * Rows of a feature (case-insensitive), in CSV order
+     */
+    public List<TestData> byFeature(String featureId) {
+        if (compiled == null) {
+            return byFeature.getOrDefault(key(featureId), List.of());
+        }
+        List<TestData> featureRows = new ArrayList<>();
+        for (int row : compiled.rowsOfFeature(key(featureId))) {
+            featureRows.add(row(row));
+        }
+        return Collections.unmodifiableList(featureRows);
+    }
+
+    /**
+     * Row with the given Test case ID, or null
+     */
+    public TestData byTestCaseId(String testCaseId) {
+        if (compiled == null) {
+            return byTestCaseId.get(testCaseId);
+        }
+        int row = compiled.rowOf(testCaseId);
+        return row < 0 ? null : row(row);
+    }
+
+    /**
+     * Row of the compiled catalog, decoded on first use
+     */
+    private TestData row(int row) {
+        TestData data = decoded.get(row);
+        if (data == null) {
+            data = compiled.row(row);
+            if (!decoded.compareAndSet(row, null, data)) {
+                data = decoded.get(row);
+            }
+        }
+        return data;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    private boolean matches(BasicFileAttributes attributes) {
+        return attributes.lastModifiedTime().toMillis() == modifiedMillis && attributes.size() == size;
+    }
+
+    private static TestCaseCatalog load(Path path, BasicFileAttributes attributes, TestCaseCatalog previous) {
+        long modifiedMillis = attributes.lastModifiedTime().toMillis();
+        BinaryTestCatalog compiled = BinaryTestCatalog.openIfFresh(path, attributes);
+        if (compiled != null) {
+            return new TestCaseCatalog(path, modifiedMillis, attributes.size(), compiled);
+        }
+        try {
+            byte[] content = Files.readAllBytes(path);
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            if (previous != null && Arrays.equals(previous.hash, hash)) {
+                // touched but unchanged: keep the parsed rows, remember the new stamp
+                return new TestCaseCatalog(path, modifiedMillis, content.length, hash, previous.all());
+            }
+            return new TestCaseCatalog(path, modifiedMillis, content.length, hash, parse(content));
+        } catch (IOException | CsvException e) {
+            throw new RuntimeException("Failed to read CSV file: " + path, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static List<TestData> parse(byte[] content) throws IOException, CsvException {
+        List<TestData> testDataList = new ArrayList<>();
+        BufferedReader br = new BufferedReader(
+            new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8));
+
+        // Skip UTF-8 BOM if present (EF BB BF)
+        br.mark(1);
+        int firstChar = br.read();
+        if (firstChar != 0xFEFF) { // Not BOM
+            br.reset();
+        }
+
+        List<String[]> records;
+        try (CSVReader reader = new CSVReader(br)) {
+            records = reader.readAll();
+        }
+
+        // Skip header row
+        for (int i = 1; i < records.size(); i++) {
+            String[] record = records.get(i);
+            testDataList.add(new TestData(
+                record[0],  // Feature ID
+                record[1],  // Test case ID
+                record[2],  // Test Description
+                record[3],  // Test Steps
+                record[4],  // Expected Result
+                record[5],  // Actual Result
+                record[6],  // Status
+                record[7],  // Tester
+                record[8],  // Tested Date
+                record[9]   // Remark
+            ));
+        }
+        return testDataList;
+    }
+
+    private static BasicFileAttributes attributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read CSV file: " + path, e);
+        }
+    }
+
+    private static String key(String featureId) {
+        return featureId == null ? "" : featureId.trim().toUpperCase(Locale.ROOT);
+    }
+}
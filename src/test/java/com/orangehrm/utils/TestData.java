@@ -1,116 +1,109 @@
 package com.orangehrm.utils;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Test Data model representing a test case from CSV.
  * Maps to the structure of testcases_all_ess_detailed.csv
+ *
+ * Immutable and compact: the low-cardinality columns (Feature ID, Status, Tester, Tested Date)
+ * are interned, and the large free-text columns (Test Steps, Expected Result, Actual Result,
+ * Remark) are read from their TextSource only when asked for. Rows decoded from the compiled
+ * catalog keep no copy of that text on the heap.
  */
-public class TestData {
-    private String featureId;
-    private String testCaseId;
-    private String testDescription;
-    private String testSteps;
-    private String expectedResult;
-    private String actualResult;
-    private String status;
-    private String tester;
-    private String testedDate;
-    private String remark;
+public final class TestData {
+
+    // Column numbers of the large free-text fields
+    static final int TEST_STEPS = 3;
+    static final int EXPECTED_RESULT = 4;
+    static final int ACTUAL_RESULT = 5;
+    static final int REMARK = 9;
+
+    private static final Map<String, String> INTERNED = new ConcurrentHashMap<>();
+
+    /**
+     * Where the large free-text columns of a row are read from
+     */
+    @FunctionalInterface
+    public interface TextSource {
+        String text(int row, int column);
+    }
+
+    private final String featureId;
+    private final String testCaseId;
+    private final String testDescription;
+    private final String status;
+    private final String tester;
+    private final String testedDate;
+    private final TextSource textSource;
+    private final int row;
 
     // Constructor
-    public TestData(String featureId, String testCaseId, String testDescription, 
+    public TestData(String featureId, String testCaseId, String testDescription,
                    String testSteps, String expectedResult, String actualResult,
                    String status, String tester, String testedDate, String remark) {
-        this.featureId = featureId;
+        this(featureId, testCaseId, testDescription, status, tester, testedDate,
+            inMemory(testSteps, expectedResult, actualResult, remark), 0);
+    }
+
+    /**
+     * Row whose free-text columns are loaded on demand
+     *
+     * @param textSource Source of Test Steps, Expected Result, Actual Result and Remark
+     * @param row Row number passed back to the source
+     */
+    TestData(String featureId, String testCaseId, String testDescription,
+             String status, String tester, String testedDate, TextSource textSource, int row) {
+        this.featureId = intern(featureId);
         this.testCaseId = testCaseId;
         this.testDescription = testDescription;
-        this.testSteps = testSteps;
-        this.expectedResult = expectedResult;
-        this.actualResult = actualResult;
-        this.status = status;
-        this.tester = tester;
-        this.testedDate = testedDate;
-        this.remark = remark;
+        this.status = intern(status);
+        this.tester = intern(tester);
+        this.testedDate = intern(testedDate);
+        this.textSource = textSource;
+        this.row = row;
     }
 
-    // Getters and Setters
+    // Getters
     public String getFeatureId() {
         return featureId;
     }
 
-    public void setFeatureId(String featureId) {
-        this.featureId = featureId;
-    }
-
     public String getTestCaseId() {
         return testCaseId;
     }
 
-    public void setTestCaseId(String testCaseId) {
-        this.testCaseId = testCaseId;
-    }
-
     public String getTestDescription() {
         return testDescription;
     }
 
-    public void setTestDescription(String testDescription) {
-        this.testDescription = testDescription;
-    }
-
     public String getTestSteps() {
-        return testSteps;
-    }
-
-    public void setTestSteps(String testSteps) {
-        this.testSteps = testSteps;
+        return textSource.text(row, TEST_STEPS);
     }
 
     public String getExpectedResult() {
-        return expectedResult;
-    }
-
-    public void setExpectedResult(String expectedResult) {
-        this.expectedResult = expectedResult;
+        return textSource.text(row, EXPECTED_RESULT);
     }
 
     public String getActualResult() {
-        return actualResult;
-    }
-
-    public void setActualResult(String actualResult) {
-        this.actualResult = actualResult;
+        return textSource.text(row, ACTUAL_RESULT);
     }
 
     public String getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
-        this.status = status;
-    }
-
     public String getTester() {
         return tester;
     }
 
-    public void setTester(String tester) {
-        this.tester = tester;
-    }
-
     public String getTestedDate() {
         return testedDate;
     }
 
-    public void setTestedDate(String testedDate) {
-        this.testedDate = testedDate;
-    }
-
     public String getRemark() {
-        return remark;
-    }
-
-    public void setRemark(String remark) {
-        this.remark = remark;
+        return textSource.text(row, REMARK);
     }
 
     @Override
@@ -122,4 +115,22 @@ public class TestData {
                 ", status='" + status + '\'' +
                 '}';
     }
+
+    private static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = INTERNED.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    private static TextSource inMemory(String testSteps, String expectedResult, String actualResult, String remark) {
+        return (row, column) -> switch (column) {
+            case TEST_STEPS -> testSteps;
+            case EXPECTED_RESULT -> expectedResult;
+            case ACTUAL_RESULT -> actualResult;
+            case REMARK -> remark;
+            default -> throw new IllegalArgumentException("Not a free-text column: " + column);
+        };
+    }
 }
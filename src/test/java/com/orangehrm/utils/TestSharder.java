@@ -0,0 +1,212 @@
+package com.orangehrm.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Deterministic split of CSV test cases across CI agents.
+ *
+ * Run one JVM per shard with -Dshard.index=0..N-1 and -Dshard.count=N.
+ * When the committed durations file (test-durations.csv) lists per-test-case durations the rows
+ * are packed longest-first onto the least loaded shard (LPT), so all shards finish at about the
+ * same time; without it a row goes to shard hash(Test case ID) mod N.
+ * Every agent computes the same assignment from the same CSV and duration file. The agent-local
+ * TimingHistory is never used here: each agent only knows the rows it ran, so the shards would
+ * disagree and run some rows twice and others not at all.
+ * TimingHistoryListener merges the medians of every run into the file at suite end; commit it
+ * from a full run (or after merging the files of all shards) to turn on LPT packing.
+ */
+public class TestSharder {
+
+    // Optional shared duration history, committed with the CSV: "Test case ID,Duration ms" per line
+    private static final String DEFAULT_DURATIONS_FILE = "test-durations.csv";
+
+    private final int index;
+    private final int count;
+
+    /**
+     * @param index Shard of this JVM (0-based)
+     * @param count Total number of shards
+     */
+    public TestSharder(int index, int count) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + count);
+        }
+        this.index = index;
+        this.count = count;
+    }
+
+    /**
+     * Sharder configured from -Dshard.index / -Dshard.count, or null when sharding is off
+     */
+    public static TestSharder fromSystemProperties() {
+        String countValue = System.getProperty("shard.count", "");
+        if (countValue.isBlank()) {
+            return null;
+        }
+        int shardCount = Integer.parseInt(countValue.trim());
+        int shardIndex = Integer.parseInt(System.getProperty("shard.index", "0").trim());
+        return shardCount > 1 ? new TestSharder(shardIndex, shardCount) : null;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Rows that belong to this shard, in their original CSV order
+     *
+     * @param rows All rows, in CSV order (the same list on every agent)
+     * @param durations Recorded duration in millis per test case ID (may be empty)
+     */
+    public List<TestData> select(List<TestData> rows, Map<String, Long> durations) {
+        Predicate<String> owned = owner(() -> rows.stream().map(TestData::getTestCaseId).toList(), durations);
+        List<TestData> selected = new ArrayList<>();
+        for (TestData row : rows) {
+            if (owned.test(row.getTestCaseId())) {
+                selected.add(row);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Shard membership by Test case ID, also usable for rows streamed one at a time.
+     * Without durations a case belongs to shard hash(Test case ID) mod N, which needs no other row;
+     * LPT packing needs every ID of the catalog, so allTestCaseIds is only read when there are durations.
+     * Rows sharing a Test case ID always land on the same shard.
+     *
+     * @param allTestCaseIds Every Test case ID of the catalog, in CSV order (the same list on every agent)
+     * @param durations Recorded duration in millis per test case ID (may be empty)
+     */
+    public Predicate<String> owner(Supplier<? extends Collection<String>> allTestCaseIds, Map<String, Long> durations) {
+        if (durations.isEmpty()) {
+            return testCaseId -> shardOf(testCaseId, count) == index;
+        }
+        Map<String, Integer> assignment = assign(allTestCaseIds.get(), durations, count);
+        return testCaseId -> assignment.getOrDefault(testCaseId, shardOf(testCaseId, count)) == index;
+    }
+
+    /**
+     * Shard number for every distinct Test case ID
+     */
+    static Map<String, Integer> assign(Collection<String> testCaseIds, Map<String, Long> durations, int count) {
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(testCaseIds));
+        Map<String, Integer> assignment = new HashMap<>();
+        long known = ids.stream().filter(durations::containsKey).count();
+        if (known == 0) {
+            for (String id : ids) {
+                assignment.put(id, shardOf(id, count));
+            }
+            return assignment;
+        }
+
+        // Cases without history are estimated at the mean of the known ones
+        long mean = Math.max(1, ids.stream()
+            .filter(durations::containsKey)
+            .mapToLong(durations::get)
+            .sum() / known);
+        long[] cost = new long[ids.size()];
+        List<Integer> byCost = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            cost[i] = durations.getOrDefault(ids.get(i), mean);
+            byCost.add(i);
+        }
+        // Longest first; ties broken by test case ID, then CSV position, so the order is stable everywhere
+        byCost.sort(Comparator.<Integer>comparingLong(i -> -cost[i])
+            .thenComparing(ids::get)
+            .thenComparingInt(i -> i));
+
+        long[] load = new long[count];
+        for (int i : byCost) {
+            int target = 0;
+            for (int shard = 1; shard < count; shard++) {
+                if (load[shard] < load[target]) {
+                    target = shard;
+                }
+            }
+            assignment.put(ids.get(i), target);
+            load[target] += cost[i];
+        }
+        return assignment;
+    }
+
+    private static int shardOf(String testCaseId, int count) {
+        return Math.floorMod(testCaseId.hashCode(), count);
+    }
+
+    /**
+     * Shared durations file: -Dshard.durations (default test-durations.csv)
+     */
+    public static Path durationsFile() {
+        return Path.of(System.getProperty("shard.durations", DEFAULT_DURATIONS_FILE));
+    }
+
+    /**
+     * Read recorded durations from -Dshard.durations (default test-durations.csv)
+     *
+     * @return Duration in millis per test case ID; empty if there is no file (hash assignment)
+     */
+    public static Map<String, Long> loadDurations() {
+        return loadDurations(durationsFile());
+    }
+
+    /**
+     * Read a "Test case ID,Duration ms" file (header line optional)
+     */
+    public static Map<String, Long> loadDurations(Path file) {
+        Map<String, Long> durations = new HashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return durations;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",");
+                if (parts.length < 2) {
+                    continue;
+                }
+                try {
+                    durations.put(parts[0].trim(), Long.parseLong(parts[1].trim()));
+                } catch (NumberFormatException e) {
+                    // header or malformed line
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Warning: Could not read test durations from " + file + " - " + e.getMessage());
+        }
+        return durations;
+    }
+
+    /**
+     * Write a "Test case ID,Duration ms" file, sorted by Test case ID so commits diff cleanly
+     */
+    public static void writeDurations(Path file, Map<String, Long> durations) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("Test case ID,Duration ms");
+        new TreeMap<>(durations).forEach((testCaseId, millis) -> lines.add(testCaseId + "," + millis));
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        Files.write(temporary, lines, StandardCharsets.UTF_8);
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
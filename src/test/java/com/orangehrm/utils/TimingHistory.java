@@ -0,0 +1,313 @@
+package com.orangehrm.utils;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+
+/**
+ * Persistent per-test-case timing history.
+ *
+ * Every run is appended to timings.log ("epochMillis,testCaseId,browser,durationMs,outcome").
+ * timings.idx is a compact snapshot of the log up to a byte offset: per test case and browser
+ * the outcome counts and the most recent durations. Opening the store reads the index and
+ * replays only the log written after it, so queries never scan the whole history.
+ *
+ * Location: -Dhistory.dir (default .test-history)
+ */
+public class TimingHistory {
+
+    public static final String OUTCOME_PASS = "PASS";
+    public static final String OUTCOME_FAIL = "FAIL";
+    public static final String OUTCOME_SKIP = "SKIP";
+
+    // Durations kept per test case and browser for percentile queries
+    static final int WINDOW = 100;
+
+    private static final int INDEX_MAGIC = 0x4F544831; // "OTH1"
+    private static final String LOG_FILE = "timings.log";
+    private static final String INDEX_FILE = "timings.idx";
+
+    private static TimingHistory defaultStore;
+
+    private final Path logFile;
+    private final Path indexFile;
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * Stats of one test case in one browser
+     */
+    private static final class Entry {
+        final String testCaseId;
+        final String browser;
+        long passed;
+        long failed;
+        long skipped;
+        long[] durations = new long[8]; // ring buffer, oldest first once full
+        int size;
+        int start;
+
+        Entry(String testCaseId, String browser) {
+            this.testCaseId = testCaseId;
+            this.browser = browser;
+        }
+
+        void add(long durationMillis, String outcome) {
+            switch (outcome) {
+                case OUTCOME_PASS -> passed++;
+                case OUTCOME_FAIL -> failed++;
+                default -> {
+                    skipped++;
+                    return; // skipped runs say nothing about cost
+                }
+            }
+            addDuration(durationMillis);
+        }
+
+        void addDuration(long durationMillis) {
+            if (size < WINDOW) {
+                if (size == durations.length) {
+                    durations = Arrays.copyOf(durations, Math.min(WINDOW, size * 2));
+                }
+                durations[size++] = durationMillis;
+            } else {
+                durations[start] = durationMillis;
+                start = (start + 1) % WINDOW;
+            }
+        }
+
+        long[] chronological() {
+            long[] result = new long[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = durations[(start + i) % durations.length];
+            }
+            return result;
+        }
+    }
+
+    private TimingHistory(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.logFile = directory.resolve(LOG_FILE);
+        this.indexFile = directory.resolve(INDEX_FILE);
+        load();
+    }
+
+    /**
+     * Open (or create) the store in a directory
+     */
+    public static TimingHistory open(Path directory) throws IOException {
+        return new TimingHistory(directory);
+    }
+
+    /**
+     * Shared store in -Dhistory.dir (default .test-history), opened on first use
+     */
+    public static synchronized TimingHistory getDefault() throws IOException {
+        if (defaultStore == null) {
+            defaultStore = open(Path.of(System.getProperty("history.dir", ".test-history")));
+        }
+        return defaultStore;
+    }
+
+    /**
+     * Append one run to the log
+     *
+     * @param outcome OUTCOME_PASS, OUTCOME_FAIL or OUTCOME_SKIP
+     */
+    public synchronized void record(String testCaseId, String browser, long durationMillis, String outcome) {
+        String line = System.currentTimeMillis() + "," + clean(testCaseId) + "," + clean(browser) + ","
+            + durationMillis + "," + outcome + "\n";
+        try (Writer writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(line);
+        } catch (IOException e) {
+            System.out.println("Warning: Could not record timing for " + testCaseId + " - " + e.getMessage());
+        }
+        entry(clean(testCaseId), clean(browser)).add(durationMillis, outcome);
+    }
+
+    /**
+     * Duration percentile over the recent runs of a test case
+     *
+     * @param browser Browser name, or null for all browsers
+     * @param percentile 0-100 (50 = median)
+     * @return Duration in millis, or empty if the test case has no timed runs
+     */
+    public synchronized OptionalLong percentile(String testCaseId, String browser, double percentile) {
+        long[] samples = samples(testCaseId, browser, Integer.MAX_VALUE);
+        return samples.length == 0 ? OptionalLong.empty() : OptionalLong.of(percentileOf(samples, percentile));
+    }
+
+    /**
+     * Duration percentile over the last runs of a test case only
+     * (e.g. compare the last 5 runs against the whole window to spot a slowdown)
+     */
+    public synchronized OptionalLong recentPercentile(String testCaseId, String browser, double percentile, int lastRuns) {
+        long[] samples = samples(testCaseId, browser, lastRuns);
+        return samples.length == 0 ? OptionalLong.empty() : OptionalLong.of(percentileOf(samples, percentile));
+    }
+
+    /**
+     * Percentile duration of every known test case, e.g. median durations for TestSharder
+     *
+     * @param browser Browser name, or null for all browsers
+     */
+    public synchronized Map<String, Long> percentiles(String browser, double percentile) {
+        Map<String, Long> result = new TreeMap<>();
+        for (Entry entry : entries.values()) {
+            if (!result.containsKey(entry.testCaseId)) {
+                percentile(entry.testCaseId, browser, percentile).ifPresent(d -> result.put(entry.testCaseId, d));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Share of recorded runs that failed (skips excluded), or 0 if never run
+     */
+    public synchronized double failureRate(String testCaseId, String browser) {
+        long passed = 0;
+        long failed = 0;
+        for (Entry entry : matching(testCaseId, browser)) {
+            passed += entry.passed;
+            failed += entry.failed;
+        }
+        return passed + failed == 0 ? 0 : (double) failed / (passed + failed);
+    }
+
+    /**
+     * Rewrite the index so the next open only replays runs recorded after this point
+     */
+    public synchronized void compact() throws IOException {
+        long logLength = Files.exists(logFile) ? Files.size(logFile) : 0;
+        Path temp = indexFile.resolveSibling(INDEX_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeLong(logLength);
+            out.writeInt(entries.size());
+            for (Entry entry : entries.values()) {
+                out.writeUTF(entry.testCaseId);
+                out.writeUTF(entry.browser);
+                out.writeLong(entry.passed);
+                out.writeLong(entry.failed);
+                out.writeLong(entry.skipped);
+                long[] durations = entry.chronological();
+                out.writeInt(durations.length);
+                for (long duration : durations) {
+                    out.writeLong(duration);
+                }
+            }
+        }
+        Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void load() throws IOException {
+        long replayFrom = readIndex();
+        if (!Files.exists(logFile)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            if (replayFrom > channel.size()) {
+                // log was truncated or replaced - the index no longer describes it
+                entries.clear();
+                replayFrom = 0;
+            }
+            channel.position(replayFrom);
+            BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",");
+                if (parts.length != 5) {
+                    continue; // partial line from an interrupted run
+                }
+                try {
+                    entry(parts[1], parts[2]).add(Long.parseLong(parts[3]), parts[4]);
+                } catch (NumberFormatException ignored) {
+                    // skip malformed line
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Log offset covered by the index (0 if there is no usable index)
+     */
+    private long readIndex() {
+        if (!Files.exists(indexFile)) {
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(indexFile))) {
+            if (in.readInt() != INDEX_MAGIC) {
+                return 0;
+            }
+            long offset = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                Entry entry = entry(in.readUTF(), in.readUTF());
+                entry.passed = in.readLong();
+                entry.failed = in.readLong();
+                entry.skipped = in.readLong();
+                int size = in.readInt();
+                for (int j = 0; j < size; j++) {
+                    entry.addDuration(in.readLong());
+                }
+            }
+            return offset;
+        } catch (IOException e) {
+            System.out.println("Warning: Ignoring unreadable timing index - " + e.getMessage());
+            entries.clear();
+            return 0;
+        }
+    }
+
+    private Entry entry(String testCaseId, String browser) {
+        return entries.computeIfAbsent(testCaseId + '\u0000' + browser, k -> new Entry(testCaseId, browser));
+    }
+
+    private Iterable<Entry> matching(String testCaseId, String browser) {
+        if (browser != null) {
+            Entry entry = entries.get(testCaseId + '\u0000' + browser);
+            return entry == null ? List.of() : List.of(entry);
+        }
+        return entries.values().stream().filter(e -> e.testCaseId.equals(testCaseId)).toList();
+    }
+
+    private long[] samples(String testCaseId, String browser, int lastRuns) {
+        long[] all = new long[0];
+        for (Entry entry : matching(testCaseId, browser)) {
+            long[] durations = entry.chronological();
+            long[] recent = Arrays.copyOfRange(durations, Math.max(0, durations.length - lastRuns), durations.length);
+            long[] merged = Arrays.copyOf(all, all.length + recent.length);
+            System.arraycopy(recent, 0, merged, all.length, recent.length);
+            all = merged;
+        }
+        return all;
+    }
+
+    static long percentileOf(long[] samples, double percentile) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank))];
+    }
+
+    private static String clean(String value) {
+        return value == null || value.isBlank() ? "-" : value.replace(',', ' ').replace('\n', ' ').trim();
+    }
+}
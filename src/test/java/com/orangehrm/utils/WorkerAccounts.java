@@ -0,0 +1,96 @@
+package com.orangehrm.utils;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Throw-away ESS accounts, one per data provider worker thread, so rows running in parallel
+ * never edit the same employee or apply for leave as the same user.
+ * Created and deleted over the API with an admin OrangeHrmFixtureClient.
+ */
+public class WorkerAccounts {
+
+    /**
+     * Login of one worker's employee
+     */
+    public record Account(int empNumber, String username, String password) {
+    }
+
+    private static final int CREATE_ATTEMPTS = 5;
+
+    private final OrangeHrmFixtureClient admin;
+    private final String owner;
+    private final List<Integer> created = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param admin Fixture client of an admin session
+     * @param owner Last name of the created employees (e.g. the test class), to spot leftovers in PIM
+     */
+    public WorkerAccounts(OrangeHrmFixtureClient admin, String owner) {
+        this.admin = admin;
+        this.owner = owner;
+    }
+
+    /**
+     * Create an employee with an enabled ESS login
+     *
+     * @param workerIndex Number of the worker thread (used in the first name)
+     */
+    public Account create(int workerIndex) throws IOException {
+        int empNumber = createEmployee("Worker" + workerIndex);
+        created.add(empNumber);
+        String username = "worker." + empNumber + "." + Long.toHexString(System.nanoTime() & 0xffffff);
+        String password = "Wk!" + String.format("%012x", ThreadLocalRandom.current().nextLong() >>> 16) + "9Z";
+        admin.createUser(empNumber, username, password, OrangeHrmFixtureClient.ROLE_ESS);
+        return new Account(empNumber, username, password);
+    }
+
+    /**
+     * Entitle the employee to every leave type in the current and future leave periods
+     */
+    public void entitleToAllLeave(Account account, double days) throws IOException {
+        LocalDate today = LocalDate.now();
+        List<Map<String, Object>> leaveTypes = admin.getLeaveTypes();
+        for (Map<String, Object> period : admin.getLeavePeriods()) {
+            LocalDate start = LocalDate.parse((String) period.get("startDate"));
+            LocalDate end = LocalDate.parse((String) period.get("endDate"));
+            if (end.isBefore(today)) {
+                continue;
+            }
+            for (Map<String, Object> leaveType : leaveTypes) {
+                int leaveTypeId = ((Number) leaveType.get("id")).intValue();
+                admin.addLeaveEntitlement(account.empNumber(), leaveTypeId, start, end, days);
+            }
+        }
+    }
+
+    /**
+     * Delete every employee (and its login) created so far
+     */
+    public void deleteAll() throws IOException {
+        List<Integer> empNumbers = List.copyOf(created);
+        admin.deleteEmployees(empNumbers);
+        created.removeAll(empNumbers);
+    }
+
+    /**
+     * Add the employee under a random 4-digit Employee ID (the format TC010 checks),
+     * trying another one when the ID is taken
+     */
+    private int createEmployee(String firstName) throws IOException {
+        IOException lastFailure = null;
+        for (int attempt = 0; attempt < CREATE_ATTEMPTS; attempt++) {
+            String employeeId = String.format("%04d", ThreadLocalRandom.current().nextInt(10_000));
+            try {
+                return admin.createEmployee(firstName, owner, employeeId);
+            } catch (IOException e) {
+                lastFailure = e;
+            }
+        }
+        throw lastFailure;
+    }
+}